@@ -0,0 +1,131 @@
+import bench.BenchTargets;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The GameBenchTargets class exposes the game to the benchmarks in the bench package.
+ */
+public class GameBenchTargets implements BenchTargets {
+
+    @Override
+    public Object createSimulation(int number) {
+        return createSimulation(createSpec(number));
+    }
+
+    @Override
+    public Object createCrowdSimulation(int duckCount, long seed) {
+        return createSimulation(StressBenchmark.createCrowd(duckCount, duckCount, new Random(seed)));
+    }
+
+    @Override
+    public void advance(Object simulation, double millis) {
+        ((LevelSimulation) simulation).run(millis, GameLoop.STEP_MILLIS);
+    }
+
+    @Override
+    public Object findDuck(Object simulation, double x, double y) {
+        int duck = ((LevelSimulation) simulation).findDuckAt(x, y);
+        return duck < 0 ? null : duck;
+    }
+
+    @Override
+    public Object createDuckViews(Object simulation) {
+        NodeDuckRenderer renderer = new NodeDuckRenderer(((LevelSimulation) simulation).getDucks());
+        renderer.render(1);
+        return ((Group) renderer.getNode()).getChildren().toArray(new Node[0]);
+    }
+
+    @Override
+    public Object findDuckByNodeBounds(Object duckViews, double x, double y) {
+        Node[] views = (Node[]) duckViews;
+        for (int duck = 0; duck < views.length; duck++) {
+            if (views[duck].isVisible() && views[duck].getBoundsInParent().contains(x, y)) {
+                return duck;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public double[] pickShots(Object simulation, int count, long seed) {
+        DuckStore ducks = ((LevelSimulation) simulation).getDucks();
+        double[] size = getPlayfieldSize();
+        Random random = new Random(seed);
+        double[] shots = new double[count * 2];
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                int duck = random.nextInt(ducks.getCount());
+                shots[2 * i] = ducks.getX(duck) + random.nextDouble() * ducks.getWidth(duck);
+                shots[2 * i + 1] = ducks.getY(duck) + random.nextDouble() * ducks.getHeight(duck);
+            } else {
+                shots[2 * i] = random.nextDouble() * size[0];
+                shots[2 * i + 1] = random.nextDouble() * size[1];
+            }
+        }
+        return shots;
+    }
+
+    @Override
+    public Object resetLevelTexts(int number, int ammo) {
+        LevelOverlay.reset(number, false, ammo);
+        double width = 0;
+        for (Node node : LevelOverlay.getNodes()) {
+            width += node.getLayoutBounds().getWidth();
+        }
+        return width;
+    }
+
+    @Override
+    public Object decodeSprite(String path) {
+        return new Image(path);
+    }
+
+    @Override
+    public String[] getDuckFramePaths() {
+        List<String> paths = new ArrayList<>();
+        for (String colour : DuckSpec.COLOURS) {
+            for (int frame = 1; frame <= DuckSpec.FRAME_COUNT; frame++) {
+                paths.add(DuckSpec.getFramePath(colour, frame));
+            }
+        }
+        return paths.toArray(new String[0]);
+    }
+
+    @Override
+    public double[] getPlayfieldSize() {
+        return new double[]{DuckHunt.SCREEN_WIDTH, DuckHunt.SCREEN_HEIGHT};
+    }
+
+    @Override
+    public int getLevelCount() {
+        return Levels.COUNT;
+    }
+
+    /**
+     * Creates the simulation of a level, with the duck sizes and hit masks of the real sprites.
+     *
+     * @param spec The specification of the level.
+     * @return The level simulation.
+     */
+    private static LevelSimulation createSimulation(LevelSpec spec) {
+        DuckMaskLoader.load();
+        return new LevelSimulation(spec, DuckHunt.SCREEN_WIDTH, DuckHunt.SCREEN_HEIGHT,
+                duckSpec -> SpriteCache.get(duckSpec.getFramePath(duckSpec.getFirstFrame())).getWidth(),
+                duckSpec -> SpriteCache.get(duckSpec.getFramePath(duckSpec.getFirstFrame())).getHeight());
+    }
+
+    /**
+     * Creates the specification of a campaign level for the real sprite sizes.
+     *
+     * @param number The number of the level.
+     * @return The level specification.
+     */
+    private static LevelSpec createSpec(int number) {
+        return Levels.create(number, DuckHunt.SCREEN_WIDTH, SpriteCache.get("assets/duck_black/4.png").getWidth());
+    }
+}
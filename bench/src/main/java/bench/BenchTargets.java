@@ -0,0 +1,128 @@
+package bench;
+
+/**
+ * The BenchTargets interface is the bridge between the benchmarks and the game. The game classes live in the
+ * default package, which JMH benchmarks cannot use and named packages cannot import, so the default-package
+ * class {@code GameBenchTargets} implements this interface and the benchmarks reach the game only through it.
+ * Game objects are passed around as plain Objects.
+ */
+public interface BenchTargets {
+
+    /**
+     * Returns the implementation of the targets, loaded once from the default package.
+     *
+     * @return The bench targets of the game.
+     */
+    static BenchTargets get() {
+        try {
+            return (BenchTargets) Class.forName("GameBenchTargets").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The game bench targets could not be loaded", e);
+        }
+    }
+
+    /**
+     * Creates the simulation of a campaign level, with the duck sizes and hit masks of the real sprites.
+     *
+     * @param number The number of the level.
+     * @return The level simulation.
+     */
+    Object createSimulation(int number);
+
+    /**
+     * Creates the simulation of a level with any number of ducks, the crowd that the stress benchmark flies.
+     *
+     * @param duckCount The number of ducks.
+     * @param seed      The seed of the random generator that scatters the ducks.
+     * @return The level simulation.
+     */
+    Object createCrowdSimulation(int duckCount, long seed);
+
+    /**
+     * Advances a level simulation in game loop steps.
+     *
+     * @param simulation The level simulation.
+     * @param millis     The time to advance in milliseconds.
+     */
+    void advance(Object simulation, double millis);
+
+    /**
+     * Hit-tests a point the way a shot does, through the spatial grid and the hit masks, without shooting.
+     *
+     * @param simulation The level simulation.
+     * @param x          The X coordinate in sprite pixels.
+     * @param y          The Y coordinate in sprite pixels.
+     * @return The duck under the point, or null.
+     */
+    Object findDuck(Object simulation, double x, double y);
+
+    /**
+     * Creates an ImageView for every duck of a level simulation, placed where the ducks are now, the way the
+     * node renderer shows them.
+     *
+     * @param simulation The level simulation.
+     * @return The views of the ducks.
+     */
+    Object createDuckViews(Object simulation);
+
+    /**
+     * Hit-tests a point against the bounds in parent of every duck's ImageView, as the levels did before
+     * the spatial grid and the hit masks.
+     *
+     * @param duckViews The views of the ducks, from {@link #createDuckViews}.
+     * @param x         The X coordinate in sprite pixels.
+     * @param y         The Y coordinate in sprite pixels.
+     * @return The duck under the point, or null.
+     */
+    Object findDuckByNodeBounds(Object duckViews, double x, double y);
+
+    /**
+     * Picks points to shoot at: every other point lies within the bounds of a flying duck, the rest anywhere
+     * on the playfield.
+     *
+     * @param simulation The level simulation.
+     * @param count      The number of points.
+     * @param seed       The seed of the random generator.
+     * @return The X and Y coordinates of the points, interleaved.
+     */
+    double[] pickShots(Object simulation, int count, long seed);
+
+    /**
+     * Prepares the shared level texts for the start of a campaign level, the way a starting level does,
+     * and lays them out again. The texts themselves are created once, on the first call.
+     *
+     * @param number The number of the level.
+     * @param ammo   The ammo the level starts with.
+     * @return The total width of the laid out texts.
+     */
+    Object resetLevelTexts(int number, int ammo);
+
+    /**
+     * Decodes a sprite without going through the sprite cache.
+     *
+     * @param path The asset path of the sprite.
+     * @return The decoded image.
+     */
+    Object decodeSprite(String path);
+
+    /**
+     * Returns the asset paths of the frames of every duck colour.
+     *
+     * @return The duck frame paths.
+     */
+    String[] getDuckFramePaths();
+
+    /**
+     * Returns the size of the playfield in sprite pixels.
+     *
+     * @return The width and the height of the playfield.
+     */
+    double[] getPlayfieldSize();
+
+    /**
+     * Returns the number of campaign levels.
+     *
+     * @return The level count.
+     */
+    int getLevelCount();
+}
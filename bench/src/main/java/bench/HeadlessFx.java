@@ -0,0 +1,39 @@
+package bench;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The HeadlessFx class starts the JavaFX toolkit on the Monocle headless platform, so that images can be decoded
+ * and texts laid out without a display.
+ */
+public final class HeadlessFx {
+    private static boolean started = false;
+
+    private HeadlessFx() {
+    }
+
+    /**
+     * Starts the toolkit, unless it is already running.
+     */
+    public static synchronized void start() {
+        if (started) {
+            return;
+        }
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("java.awt.headless", "true");
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting JavaFX", e);
+        }
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a single hit test: through the spatial grid and the hit masks as the game does it,
+ * and against the bounds in parent of every duck's ImageView as the levels did before.
+ * The ducks are a crowd like the stress benchmark's, from as few as a campaign level has to far more than an endless
+ * wave, so that the results show from how many ducks on the grid pays for itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HitTestBenchmark {
+    private static final int SHOTS = 1024;
+
+    @Param({"3", "500", "5000"})
+    public int ducks;
+
+    private BenchTargets targets;
+    private Object simulation;
+    private Object duckViews;
+    private double[] shots;
+
+    @Setup
+    public void setUp() {
+        HeadlessFx.start();
+        targets = BenchTargets.get();
+        simulation = targets.createCrowdSimulation(ducks, 42);
+        targets.advance(simulation, 1234);
+        shots = targets.pickShots(simulation, SHOTS, 42);
+        duckViews = targets.createDuckViews(simulation);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHOTS)
+    public void gridAndMask(Blackhole blackhole) {
+        for (int i = 0; i < shots.length; i += 2) {
+            blackhole.consume(targets.findDuck(simulation, shots[i], shots[i + 1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHOTS)
+    public void nodeBoundsOfEveryDuck(Blackhole blackhole) {
+        for (int i = 0; i < shots.length; i += 2) {
+            blackhole.consume(targets.findDuckByNodeBounds(duckViews, shots[i], shots[i + 1]));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what it costs to set up each campaign level: building its simulation with the ducks, trajectories
+ * and spatial grid, and updating and laying out the shared level texts for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    public int level;
+
+    private BenchTargets targets;
+
+    @Setup
+    public void setUp() {
+        HeadlessFx.start();
+        targets = BenchTargets.get();
+    }
+
+    @Benchmark
+    public Object simulation() {
+        return targets.createSimulation(level);
+    }
+
+    /**
+     * Starts the level after another one, so that the level and ammo texts change and are laid out again each time.
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public void levelTexts(Blackhole blackhole) {
+        blackhole.consume(targets.resetLevelTexts(level % targets.getLevelCount() + 1, 1));
+        blackhole.consume(targets.resetLevelTexts(level, 2));
+    }
+
+    @Benchmark
+    public Object playTenSeconds() {
+        Object simulation = targets.createSimulation(level);
+        targets.advance(simulation, 10000);
+        return simulation;
+    }
+}
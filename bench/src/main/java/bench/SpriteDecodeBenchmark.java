@@ -0,0 +1,43 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to decode every duck frame of every colour from its PNG, bypassing the sprite cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteDecodeBenchmark {
+    private BenchTargets targets;
+    private String[] paths;
+
+    @Setup
+    public void setUp() {
+        HeadlessFx.start();
+        targets = BenchTargets.get();
+        paths = targets.getDuckFramePaths();
+    }
+
+    @Benchmark
+    public void decodeDuckFrames(Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(targets.decodeSprite(path));
+        }
+    }
+}
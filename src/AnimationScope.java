@@ -0,0 +1,104 @@
+import javafx.animation.Animation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The AnimationScope class owns the animations played while a screen or level is shown.
+ * Every screen enters a new scope when it is shown, which stops every animation of the previous scope, so that
+ * looping animations cannot outlive the screen that started them and keep its nodes reachable.
+ * After each change of scope the number of animations still running is compared with the previous change,
+ * and a warning is logged if it has grown, since that means an animation is being leaked on every restart.
+ * It is only used from the JavaFX application thread.
+ */
+public class AnimationScope {
+    private static final Logger LOGGER = Logger.getLogger(AnimationScope.class.getName());
+
+    private static AnimationScope current = new AnimationScope("startup");
+    private static int runningAfterLastExit = 0;
+
+    private final String name;
+    private final List<Animation> animations = new ArrayList<>();
+
+    /**
+     * Constructs an empty AnimationScope.
+     *
+     * @param name The name of the screen or level the scope belongs to, used in warnings.
+     */
+    private AnimationScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Leaves the current scope, stopping all of its animations, and enters a new one.
+     *
+     * @param name The name of the screen or level that is being shown.
+     * @return The new current scope.
+     */
+    public static AnimationScope enter(String name) {
+        current.close();
+        int running = AnimationTracker.getRunningCount();
+        if (running > runningAfterLastExit) {
+            LOGGER.warning(running + " animations are still running after leaving " + current.name
+                    + ", up from " + runningAfterLastExit + "; an animation is not owned by a scope");
+        }
+        runningAfterLastExit = running;
+        current = new AnimationScope(name);
+        return current;
+    }
+
+    /**
+     * Returns the scope of the screen or level that is currently shown.
+     *
+     * @return The current scope.
+     */
+    public static AnimationScope current() {
+        return current;
+    }
+
+    /**
+     * Plays an animation from its start as part of this scope. The animation is stopped when the scope is left.
+     * Animations that are created once and replayed on later screens are handed to the scope each time they play.
+     *
+     * @param animation The animation to play. It should have been registered with {@link AnimationTracker#track}.
+     * @param <T>       The type of the animation.
+     * @return The animation itself.
+     */
+    public <T extends Animation> T play(T animation) {
+        if (!animations.contains(animation)) {
+            animations.add(animation);
+        }
+        animation.playFromStart();
+        return animation;
+    }
+
+    /**
+     * Stops every animation of the scope and forgets them.
+     */
+    private void close() {
+        for (Animation animation : animations) {
+            animation.stop();
+        }
+        animations.clear();
+    }
+
+    /**
+     * Returns the number of animations of this scope that are running.
+     *
+     * @return The number of live animations of the scope.
+     */
+    public int getLiveCount() {
+        int live = 0;
+        for (Animation animation : animations) {
+            if (animation.getStatus() == Animation.Status.RUNNING) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,40 @@
+import javafx.animation.Animation;
+
+/**
+ * The AnimationTracker class counts the animations of the game that are currently running.
+ * Every transition and timeline the game starts is registered here, so that the diagnostics overlay can show
+ * whether animations pile up. It is only used from the JavaFX application thread.
+ */
+public class AnimationTracker {
+    private static int runningCount = 0;
+
+    /**
+     * Registers an animation so that it is counted while it runs.
+     *
+     * @param animation The animation to count.
+     * @param <T>       The type of the animation.
+     * @return The animation itself.
+     */
+    public static <T extends Animation> T track(T animation) {
+        if (animation.getStatus() == Animation.Status.RUNNING) {
+            runningCount++;
+        }
+        animation.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+            if (newStatus == Animation.Status.RUNNING) {
+                runningCount++;
+            } else if (oldStatus == Animation.Status.RUNNING) {
+                runningCount--;
+            }
+        });
+        return animation;
+    }
+
+    /**
+     * Returns the number of registered animations that are running.
+     *
+     * @return The number of running animations.
+     */
+    public static int getRunningCount() {
+        return runningCount;
+    }
+}
@@ -0,0 +1,73 @@
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The AssetPreloader class decodes and pre-scales every sprite, decodes the sound effects of the game and builds
+ * the hit masks of the ducks on background threads.
+ * It runs while the intro music plays so that the levels find all of their assets already decoded.
+ */
+public class AssetPreloader extends Task<Void> {
+
+    /**
+     * Decodes all assets in parallel and reports the progress after each finished asset.
+     *
+     * @return Always null.
+     * @throws Exception If one of the assets could not be decoded.
+     */
+    @Override
+    protected Void call() throws Exception {
+        List<Runnable> jobs = new ArrayList<>();
+        for (String path : getSpritePaths()) {
+            jobs.add(() -> SpriteCache.getScaled(path));
+        }
+        for (String path : BackgroundManager.foregroundImages) {
+            jobs.add(() -> SpriteCache.getOpaqueBounds(SpriteCache.get(path)));
+        }
+        jobs.add(DuckHunt::loadSoundEffects);
+        jobs.add(DuckMaskLoader::load);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "asset-preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable job : jobs) {
+                futures.add(executor.submit(job));
+            }
+            int done = 0;
+            updateProgress(done, jobs.size());
+            for (Future<?> future : futures) {
+                future.get();
+                updateProgress(++done, jobs.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the asset paths of every duck frame, background, foreground and crosshair image.
+     *
+     * @return The list of sprite paths to preload.
+     */
+    private static List<String> getSpritePaths() {
+        List<String> paths = new ArrayList<>();
+        for (String colour : DuckSpec.COLOURS) {
+            for (int frame = 1; frame <= DuckSpec.FRAME_COUNT; frame++) {
+                paths.add(DuckSpec.getFramePath(colour, frame));
+            }
+        }
+        paths.addAll(List.of(BackgroundManager.backgroundImages));
+        paths.addAll(List.of(BackgroundManager.foregroundImages));
+        paths.addAll(List.of(BackgroundManager.crosshairImages));
+        return paths;
+    }
+}
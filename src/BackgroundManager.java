@@ -1,7 +1,6 @@
+import javafx.animation.PauseTransition;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -9,15 +8,27 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.util.logging.Logger;
 
 /**
  * The BackgroundManager class handles the management of background images, foreground images,
  * and crosshair images for the game.
  */
 public class BackgroundManager {
+    private static final Logger LOGGER = Logger.getLogger(BackgroundManager.class.getName());
+
     public static boolean changeScreenShown = false;
     public static int currentBackgroundIndex = 0;
     public static int currentCrosshairIndex = 0;
+    private static boolean loading = false;
+
+    /**
+     * The duration of the intro music in milliseconds. The first level starts once both the intro
+     * and the asset preloading are finished.
+     */
+    private static final double INTRO_DURATION_MILLIS = 6000;
 
     /**
      * An array of file paths for the background images.
@@ -57,49 +68,39 @@ public class BackgroundManager {
     };
 
     /**
-     * Sets the background image of the background selection screen.
-     *
-     * @param imagePath The file path of the background image.
-     * @param root The root pane of the game's scene graph.
+     * The text of the background selection screen, created once and shown whenever the selection screen is.
      */
-    public static void setBackgroundImage(String imagePath, Pane root) {
-        root.getChildren().removeIf(node -> node instanceof ImageView);
-        Image backgroundImage = new Image(imagePath);
-        ImageView backgroundImageView = new ImageView(backgroundImage);
-        backgroundImageView.setFitWidth(DuckHunt.SCREEN_WIDTH);
-        backgroundImageView.setFitHeight(DuckHunt.SCREEN_HEIGHT);
-        root.getChildren().add(backgroundImageView);
-        setTexts(root);
+    private static Text selectionText;
+
+    /**
+     * Shows the background selection screen with the currently selected background and crosshair.
+     */
+    public static void showSelectionScreen() {
+        if (selectionText == null) {
+            selectionText = createSelectionText();
+        }
+        GameScreen.setBackground(SpriteCache.get(backgroundImages[currentBackgroundIndex]));
+        GameScreen.setHud(selectionText);
+        GameScreen.showCrosshair(SpriteCache.get(crosshairImages[currentCrosshairIndex]), false);
     }
 
     /**
-     * Sets the key events for the background selection screen.
+     * Sets the key events for the title screen and the background selection screen.
      *
      * @param scene        The scene where the key events will be handled.
      * @param primaryStage The primary stage of the game.
-     * @param root         The root pane of the game's scene graph.
      */
-    public static void setKeyEvents(Scene scene, Stage primaryStage, Pane root) {
-        Image cursorImage = new Image(crosshairImages[currentCrosshairIndex]);
-        ImageView cursorImageView = new ImageView(cursorImage);
-        cursorImageView.setFitWidth(cursorImageView.getLayoutBounds().getWidth() * DuckHunt.SCALE);
-        cursorImageView.setFitHeight(cursorImageView.getLayoutBounds().getHeight() * DuckHunt.SCALE);
-        cursorImageView.setX(DuckHunt.SCREEN_WIDTH / 2 - cursorImageView.getLayoutBounds().getWidth() / 2);
-        cursorImageView.setY(DuckHunt.SCREEN_HEIGHT / 2 - cursorImageView.getLayoutBounds().getHeight() / 2);
-        cursorImageView.setVisible(false);
-        Pane cursorPane = new Pane();
-        cursorPane.getChildren().add(cursorImageView);
-        root.getChildren().add(cursorPane);
-        cursorPane.toFront();
-
-
+    public static void setKeyEvents(Scene scene, Stage primaryStage) {
+        scene.setOnMousePressed(null);
         scene.setOnKeyPressed(event -> {
+            if (loading) {
+                return; // Ignore key presses while the assets are being loaded
+            }
             if (!changeScreenShown) {
                 if (event.getCode() == KeyCode.ENTER) {
-                    setBackgroundImage(backgroundImages[currentBackgroundIndex], root);
                     changeScreenShown = true;
-                    cursorImageView.setVisible(true);
-                    cursorPane.toFront();
+                    AnimationScope.enter("background selection");
+                    showSelectionScreen();
                 } else if (event.getCode() == KeyCode.ESCAPE) {
                     primaryStage.close();
                 }
@@ -114,39 +115,85 @@ public class BackgroundManager {
                     currentCrosshairIndex = (currentCrosshairIndex - 1 + crosshairImages.length) % crosshairImages.length;
                 } else if (event.getCode() == KeyCode.ESCAPE) {
                     DuckHunt.backgroundMusic.stop();
-                    changeScreenShown=false;
-                    DuckHunt duckHunt = new DuckHunt();
-                    duckHunt.start(primaryStage);
-                } else if (event.getCode() == KeyCode.ENTER) {
+                    changeScreenShown = false;
+                    DuckHunt.showTitle(primaryStage);
+                    return;
+                } else if (event.getCode() == KeyCode.ENTER || event.getCode() == KeyCode.E) {
                     DuckHunt.backgroundMusic.stop();
                     DuckHunt.introMusic.play();
-                    try {
-                        Thread.sleep(6000);
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                    FirstLevel firstLevel = new FirstLevel();
-                    firstLevel.start(primaryStage);
+                    preloadAssets(primaryStage, event.getCode() == KeyCode.E);
+                    return;
                 }
-                cursorImageView.setImage(new Image(crosshairImages[currentCrosshairIndex]));
-                setBackgroundImage(backgroundImages[currentBackgroundIndex], root);
-                cursorPane.toFront();
+                showSelectionScreen();
             }
         });
     }
 
     /**
-     * Sets the texts displayed on the background selection screen.
+     * Decodes all game assets on background threads while the intro music plays and shows the progress
+     * at the bottom of the screen. Starts the first level, or the first wave of the endless mode, once the assets
+     * are loaded and the intro is over.
+     *
+     * @param primaryStage The primary stage of the game.
+     * @param endless      Whether to play the endless mode instead of the campaign.
+     */
+    private static void preloadAssets(Stage primaryStage, boolean endless) {
+        loading = true;
+        AssetPreloader preloader = new AssetPreloader();
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.progressProperty().bind(preloader.progressProperty());
+        progressBar.setPrefWidth(DuckHunt.SCREEN_WIDTH / 2);
+        progressBar.setPrefHeight(8);
+        progressBar.setLayoutX(DuckHunt.SCREEN_WIDTH / 4);
+        progressBar.setLayoutY(DuckHunt.SCREEN_HEIGHT - 24);
+        GameScreen.addToHud(progressBar);
+
+        long startTime = System.nanoTime();
+        preloader.setOnSucceeded(event -> startAfterIntro(primaryStage, endless, startTime));
+        preloader.setOnFailed(event -> {
+            // The levels decode whatever is missing on demand through the SpriteCache, so the game can still start
+            LOGGER.log(java.util.logging.Level.WARNING, "Could not preload the assets, loading them on demand",
+                    preloader.getException());
+            GameScreen.removeFromHud(progressBar);
+            startAfterIntro(primaryStage, endless, startTime);
+        });
+
+        Thread preloaderThread = new Thread(preloader, "asset-preloader");
+        preloaderThread.setDaemon(true);
+        preloaderThread.start();
+    }
+
+    /**
+     * Starts the first level, or the first wave of the endless mode, once the intro music is over.
+     *
+     * @param primaryStage The primary stage of the game.
+     * @param endless      Whether to play the endless mode instead of the campaign.
+     * @param startTime    The time the intro music started at, from {@link System#nanoTime()}.
+     */
+    private static void startAfterIntro(Stage primaryStage, boolean endless, long startTime) {
+        double elapsedMillis = (System.nanoTime() - startTime) / 1e6;
+        PauseTransition introPause = AnimationTracker.track(new PauseTransition(Duration.millis(Math.max(0, INTRO_DURATION_MILLIS - elapsedMillis))));
+        introPause.setOnFinished(finished -> {
+            loading = false;
+            Level firstLevel = new Level(1, endless);
+            firstLevel.start(primaryStage);
+        });
+        AnimationScope.current().play(introPause);
+    }
+
+    /**
+     * Creates the text displayed on the background selection screen.
      *
-     * @param root The root pane of the game's scene graph.
+     * @return The selection screen text.
      */
-    private static void setTexts(Pane root) {
-        Text text = new Text("USE ARROW KEYS TO NAVIGATE\nPRESS ENTER TO START\n PRESS ESC TO ESCAPE");
-        text.setFont(Font.font("Arial", FontWeight.BOLD, 8 * DuckHunt.SCALE));
+    private static Text createSelectionText() {
+        Text text = new Text("USE ARROW KEYS TO NAVIGATE\nPRESS ENTER TO START\nPRESS E FOR ENDLESS MODE\n PRESS ESC TO ESCAPE");
+        text.setFont(Font.font("Arial", FontWeight.BOLD, 8));
         text.setFill(Color.ORANGE);
         text.setTextAlignment(TextAlignment.CENTER);
-        text.setX((root.getWidth() - text.getLayoutBounds().getWidth()) / 2);
+        text.setX((DuckHunt.SCREEN_WIDTH - text.getLayoutBounds().getWidth()) / 2);
         text.setY(text.getLayoutBounds().getHeight() / 2);
-        root.getChildren().addAll(text);
+        return text;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.transform.Scale;
+
+/**
+ * The CanvasDuckRenderer class draws all ducks, flying and falling, onto a single Canvas.
+ * Every duck is one drawImage call from the same sprite atlas, so the cost per duck stays small
+ * and the scene graph does not grow with the number of ducks.
+ * The canvas has as many pixels as the ducks have on screen at {@link DuckHunt#scale} and is scaled back to
+ * sprite pixels, so that the ducks stay as sharp as the pre-scaled atlas they are drawn from.
+ */
+public class CanvasDuckRenderer implements DuckRenderer {
+
+    /**
+     * The canvas the ducks are drawn on. It is created once and shared by the renderers of all levels.
+     */
+    private static Canvas canvas;
+
+    private final DuckStore ducks;
+    private final SpriteAtlas atlas = SpriteAtlas.getDuckAtlas();
+
+    /**
+     * The pre-scaled atlas, held for the whole level so that the sprite cache can neither evict it nor be asked
+     * for it on every frame.
+     */
+    private final Image atlasImage;
+
+    /**
+     * Constructs a CanvasDuckRenderer for the ducks of a level.
+     *
+     * @param ducks The ducks of the level.
+     */
+    public CanvasDuckRenderer(DuckStore ducks) {
+        this.ducks = ducks;
+        atlasImage = SpriteCache.getScaled(atlas.getImage());
+        if (canvas == null) {
+            canvas = new Canvas(DuckHunt.SCREEN_WIDTH * DuckHunt.scale, DuckHunt.SCREEN_HEIGHT * DuckHunt.scale);
+            canvas.getTransforms().add(new Scale(1.0 / DuckHunt.scale, 1.0 / DuckHunt.scale, 0, 0));
+            canvas.setMouseTransparent(true);
+        }
+    }
+
+    @Override
+    public Node getNode() {
+        return canvas;
+    }
+
+    @Override
+    public void render(double alpha) {
+        GraphicsContext graphicsContext = canvas.getGraphicsContext2D();
+        graphicsContext.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        int scale = DuckHunt.scale;
+        for (int duck = 0; duck < ducks.getCount(); duck++) {
+            if (ducks.isGone(duck)) {
+                continue;
+            }
+            int region = SpriteAtlas.getRegion(ducks.getColourIndex(duck), ducks.getFrame(duck), ducks.getFacingX(duck), ducks.getFacingY(duck));
+            graphicsContext.drawImage(atlasImage,
+                    atlas.getRegionX(region) * scale, atlas.getRegionY(region) * scale,
+                    atlas.getRegionWidth(region) * scale, atlas.getRegionHeight(region) * scale,
+                    ducks.getRenderX(duck, alpha) * scale, ducks.getRenderY(duck, alpha) * scale,
+                    ducks.getWidth(duck) * scale, ducks.getHeight(duck) * scale);
+        }
+        EffectLayer.draw(graphicsContext, scale);
+    }
+}
@@ -0,0 +1,244 @@
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The DiagnosticsOverlay class shows live performance figures in the top-left corner of the game:
+ * the frame rate, a histogram and percentiles of the frame times, the time spent in each pulse,
+ * the latency from a shot to the pulse that shows it and from a mouse move to the pulse that moves the crosshair,
+ * the size of the scene graph, the running animations and the heap and garbage collector activity.
+ * It is toggled with F3 and costs nothing while it is hidden.
+ */
+public class DiagnosticsOverlay {
+
+    /**
+     * The number of most recent frames the figures are computed over.
+     */
+    private static final int WINDOW_FRAMES = 240;
+
+    /**
+     * How often the shown figures are refreshed, in milliseconds.
+     */
+    private static final double REFRESH_MILLIS = 250;
+
+    /**
+     * The upper edges of the frame-time histogram buckets in milliseconds.
+     */
+    private static final double[] HISTOGRAM_EDGES = {8, 17, 33, 50, Double.POSITIVE_INFINITY};
+    private static final String[] HISTOGRAM_LABELS = {" <8 ms", " 8-17 ", "17-33 ", "33-50 ", "  50+ "};
+    private static final int HISTOGRAM_WIDTH = 24;
+    private static final double PADDING = 4;
+
+    private static final FrameStats frameStats = new FrameStats(WINDOW_FRAMES);
+    private static final FrameStats pulseStats = new FrameStats(WINDOW_FRAMES);
+    private static final FrameStats shotLatencyStats = new FrameStats(WINDOW_FRAMES);
+    private static final FrameStats crosshairLatencyStats = new FrameStats(WINDOW_FRAMES);
+    private static final Rectangle panel = new Rectangle();
+    private static final Text text = new Text();
+    private static final Group node = new Group(panel, text);
+    private static Scene scene;
+    private static AnimationTimer timer;
+    private static long lastFrameNanos = -1;
+    private static long pulseStartNanos = -1;
+    private static long lastRefreshNanos = -1;
+    private static long shotNanos = -1;
+    private static long crosshairMoveNanos = -1;
+
+    /**
+     * Returns the node of the overlay, which the game scene keeps on top of all of its layers.
+     *
+     * @return The overlay node.
+     */
+    public static Node getNode() {
+        return node;
+    }
+
+    /**
+     * Attaches the overlay to the scene of the game, whose pulses it measures. The overlay starts hidden.
+     *
+     * @param gameScene The scene of the game.
+     */
+    public static void attach(Scene gameScene) {
+        scene = gameScene;
+        text.setFont(Font.font("Monospaced", 4));
+        text.setFill(Color.LIME);
+        text.setX(PADDING);
+        text.setY(PADDING);
+        text.setTextOrigin(VPos.TOP);
+        panel.setFill(Color.color(0, 0, 0, 0.6));
+        node.setMouseTransparent(true);
+        node.setVisible(false);
+        scene.addPostLayoutPulseListener(() -> {
+            if (pulseStartNanos >= 0) {
+                pulseStats.record((System.nanoTime() - pulseStartNanos) / 1e6);
+                pulseStartNanos = -1;
+            }
+            if (shotNanos >= 0) {
+                shotLatencyStats.record((System.nanoTime() - shotNanos) / 1e6);
+                shotNanos = -1;
+            }
+            if (crosshairMoveNanos >= 0) {
+                crosshairLatencyStats.record((System.nanoTime() - crosshairMoveNanos) / 1e6);
+                crosshairMoveNanos = -1;
+            }
+        });
+    }
+
+    /**
+     * Notes that a pulse has begun, so that the time until it has laid out the scene is recorded as the pulse time.
+     * Animation timers run in the order they were started, so the game loop calls this before it steps and renders,
+     * as does the timer of the overlay; the first call of each pulse marks its start.
+     * Nothing is measured while the overlay is hidden.
+     */
+    public static void pulseStarted() {
+        if (pulseStartNanos < 0 && node.isVisible()) {
+            pulseStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Notes that a mouse button has been pressed, so that the time until the next pulse has laid out the scene is
+     * recorded as shot latency. This is how long the reaction to a shot waits to be shown, whatever the cursor.
+     * Only the first press of each pulse is measured, and nothing is measured while the overlay is hidden.
+     */
+    public static void mousePressed() {
+        if (shotNanos < 0 && node.isVisible()) {
+            shotNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Notes that the mouse has moved the crosshair ImageView, so that the time until the next pulse has laid out
+     * the scene is recorded as crosshair latency. This is the delay a hardware cursor avoids, since the operating
+     * system moves it without waiting for a pulse, so it is only measured for the ImageView crosshair.
+     * Only the first move of each pulse is measured, and nothing is measured while the overlay is hidden.
+     */
+    public static void crosshairMoved() {
+        if (crosshairMoveNanos < 0 && node.isVisible()) {
+            crosshairMoveNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Shows the overlay if it is hidden and hides it if it is shown.
+     */
+    public static void toggle() {
+        if (node.isVisible()) {
+            node.setVisible(false);
+            timer.stop();
+            return;
+        }
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    onPulse(now);
+                }
+            };
+        }
+        frameStats.clear();
+        pulseStats.clear();
+        shotLatencyStats.clear();
+        crosshairLatencyStats.clear();
+        shotNanos = -1;
+        crosshairMoveNanos = -1;
+        pulseStartNanos = -1;
+        lastFrameNanos = -1;
+        lastRefreshNanos = -1;
+        node.setVisible(true);
+        node.toFront();
+        timer.start();
+    }
+
+    /**
+     * Records the frame that has just begun and refreshes the shown figures if they are due.
+     *
+     * @param now The timestamp of the pulse in nanoseconds.
+     */
+    private static void onPulse(long now) {
+        pulseStarted();
+        if (lastFrameNanos >= 0) {
+            frameStats.record((now - lastFrameNanos) / 1e6);
+        }
+        lastFrameNanos = now;
+        if (lastRefreshNanos < 0 || (now - lastRefreshNanos) / 1e6 >= REFRESH_MILLIS) {
+            lastRefreshNanos = now;
+            refresh();
+        }
+    }
+
+    /**
+     * Rewrites the text of the overlay with the current figures.
+     */
+    private static void refresh() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("FPS %5.1f   frame p50 %5.2f  p99 %5.2f  max %6.2f ms%n",
+                frameStats.getFps(), frameStats.getPercentile(0.5), frameStats.getPercentile(0.99), frameStats.getMax()));
+        builder.append(String.format("pulse       p50 %5.2f  p99 %5.2f  max %6.2f ms%n",
+                pulseStats.getPercentile(0.5), pulseStats.getPercentile(0.99), pulseStats.getMax()));
+        builder.append(String.format("shot        p50 %5.2f  p99 %5.2f  max %6.2f ms%n",
+                shotLatencyStats.getPercentile(0.5), shotLatencyStats.getPercentile(0.99), shotLatencyStats.getMax()));
+        if (DuckHunt.hardwareCursor) {
+            builder.append(String.format("crosshair   hardware cursor, moved by the operating system%n"));
+        } else {
+            builder.append(String.format("crosshair   p50 %5.2f  p99 %5.2f  max %6.2f ms   image view%n",
+                    crosshairLatencyStats.getPercentile(0.5), crosshairLatencyStats.getPercentile(0.99),
+                    crosshairLatencyStats.getMax()));
+        }
+
+        int[] counts = new int[HISTOGRAM_EDGES.length];
+        int largest = 1;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = frameStats.countBetween(i == 0 ? 0 : HISTOGRAM_EDGES[i - 1], HISTOGRAM_EDGES[i]);
+            largest = Math.max(largest, counts[i]);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            int width = (int) Math.ceil((double) counts[i] * HISTOGRAM_WIDTH / largest);
+            builder.append(HISTOGRAM_LABELS[i]).append(' ').append("#".repeat(width))
+                    .append(" ".repeat(HISTOGRAM_WIDTH - width)).append(' ').append(counts[i]).append('\n');
+        }
+
+        AnimationScope animationScope = AnimationScope.current();
+        builder.append(String.format("nodes %d   animations %d (%d in %s)   game loop %s%n",
+                countNodes(scene.getRoot()), AnimationTracker.getRunningCount(), animationScope.getLiveCount(),
+                animationScope.getName(), GameLoop.isRunning() ? "on" : "off"));
+
+        Runtime runtime = Runtime.getRuntime();
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        builder.append(String.format("heap %d / %d MB   GC %d (%d ms)",
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20, runtime.maxMemory() >> 20, gcCount, gcMillis));
+
+        text.setText(builder.toString());
+        panel.setWidth(text.getLayoutBounds().getWidth() + 2 * PADDING);
+        panel.setHeight(text.getLayoutBounds().getHeight() + 2 * PADDING);
+    }
+
+    /**
+     * Counts the nodes of a scene graph.
+     *
+     * @param parent The root of the scene graph.
+     * @return The number of nodes, including the root.
+     */
+    public static int countNodes(Parent parent) {
+        int count = 1;
+        for (Node child : parent.getChildrenUnmodifiable()) {
+            count += child instanceof Parent ? countNodes((Parent) child) : 1;
+        }
+        return count;
+    }
+}
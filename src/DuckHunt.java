@@ -1,16 +1,13 @@
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.application.Application;
-import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
-import javafx.scene.media.AudioClip;
 import javafx.scene.paint.Color;
 import javafx.scene.text.*;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import java.util.Objects;
+import java.util.Arrays;
 
 /**
  * The DuckHunt class is the main class that represents the Duck Hunt game application.
@@ -18,9 +15,11 @@ import java.util.Objects;
 public class DuckHunt extends Application {
 
     /**
-     * The scale factor for the game window.
+     * The number of screen pixels per sprite pixel that the textures are pre-scaled to and the window opens with.
+     * The game itself is laid out in sprite pixels and scaled to fit the window as a whole; see {@link GameScreen}.
+     * Set with the --scale=N command line argument, for example 2 on small screens or 6 on 4K displays.
      */
-    public static final double SCALE = 3;
+    public static int scale = 3;
 
     /**
      * The volume level for the sound effects.
@@ -28,23 +27,56 @@ public class DuckHunt extends Application {
      */
     public static final double VOLUME = 0.025;
     private static final String TITLE = "HUBBM Duck Hunt";
+
+    /**
+     * The number of gunshots or falling ducks that can be heard at the same time.
+     */
+    private static final int EFFECT_VOICES = 8;
+
+    /**
+     * Whether the ducks are drawn onto a single canvas instead of one node per duck.
+     * Enabled with the --renderer=canvas command line argument.
+     */
+    public static boolean canvasRendering = false;
+
+    /**
+     * Whether the crosshair of a level is drawn by the operating system as the mouse cursor instead of by an
+     * ImageView that follows the mouse. Enabled with the --cursor=hardware command line argument.
+     */
+    public static boolean hardwareCursor = false;
+
+    /**
+     * The input log to play back instead of showing the title screen, set with the --replay=FILE command line argument.
+     */
+    private static String replayPath;
+
+    /**
+     * Whether to run the {@link StressBenchmark} instead of showing the title screen.
+     * Enabled with the --bench command line argument.
+     */
+    private static boolean benchmark = false;
     public static final String BACKGROUND_MUSIC_PATH = "assets/effects/Title.mp3";
-    public static AudioClip backgroundMusic;
-    public static AudioClip introMusic;
-    public static AudioClip gunShotMusic;
-    public static AudioClip duckFallsMusic;
-    public static AudioClip gameCompletedMusic;
-    public static AudioClip levelCompletedMusic;
-    public static AudioClip gameOverMusic;
-    private static final Image backgroundImage = new Image("assets/welcome/1.png");
+    public static SoundEffect backgroundMusic;
+    public static SoundEffect introMusic;
+    public static SoundEffect gunShotMusic;
+    public static SoundEffect duckFallsMusic;
+    public static SoundEffect gameCompletedMusic;
+    public static SoundEffect levelCompletedMusic;
+    public static SoundEffect gameOverMusic;
+    private static final Image backgroundImage = SpriteCache.get("assets/welcome/1.png");
     private static final ImageView backgroundImageView = new ImageView(backgroundImage);
-    public static final double SCREEN_WIDTH = backgroundImageView.getLayoutBounds().getWidth() * DuckHunt.SCALE;
-    public static final double SCREEN_HEIGHT = backgroundImageView.getLayoutBounds().getWidth() * DuckHunt.SCALE;
+    public static final double SCREEN_WIDTH = backgroundImageView.getLayoutBounds().getWidth();
+    public static final double SCREEN_HEIGHT = backgroundImageView.getLayoutBounds().getWidth();
 
     /**
-     * The root pane for the game's scene graph.
+     * The flashing text of the title screen, created once and shown whenever the title screen is.
      */
-    Pane root = new Pane();
+    private static Text titleText;
+
+    /**
+     * The flashing animation of the title text, played by the scope of the title screen each time it is shown.
+     */
+    private static FadeTransition titleFlash;
 
     /**
      * The main method that launches the application.
@@ -52,105 +84,145 @@ public class DuckHunt extends Application {
      * @param args the command line arguments
      */
     public static void main(String[] args) {
+        canvasRendering = Arrays.asList(args).contains("--renderer=canvas");
+        hardwareCursor = Arrays.asList(args).contains("--cursor=hardware");
+        benchmark = Arrays.asList(args).contains("--bench");
+        DuckStore.setParallel(Arrays.asList(args).contains("--parallel"));
+        for (String arg : args) {
+            if (arg.startsWith("--record=")) {
+                InputRecorder.setPath(arg.substring("--record=".length()));
+            } else if (arg.startsWith("--replay=")) {
+                replayPath = arg.substring("--replay=".length());
+            } else if (arg.startsWith("--scale=")) {
+                scale = Math.max(1, Integer.parseInt(arg.substring("--scale=".length())));
+            } else if (arg.startsWith("--bench-ducks=")) {
+                StressBenchmark.setDuckCount(Math.max(1, Integer.parseInt(arg.substring("--bench-ducks=".length()))));
+            } else if (arg.startsWith("--bench-seconds=")) {
+                StressBenchmark.setDurationSeconds(Math.max(1, Double.parseDouble(arg.substring("--bench-seconds=".length()))));
+            } else if (arg.startsWith("--bench-report=")) {
+                StressBenchmark.setReportPath(arg.substring("--bench-report=".length()));
+            }
+        }
         launch(args);
     }
 
     /**
-     * Initializes and starts the Duck Hunt title screen.
+     * Initializes the window and the music of the game and shows the Duck Hunt title screen.
      *
      * @param primaryStage the primary stage of the application
      */
     @Override
     public void start(Stage primaryStage) {
         primaryStage.setTitle(TITLE);
-        Scene scene = new Scene(root, SCREEN_WIDTH, SCREEN_HEIGHT);
-        primaryStage.setScene(scene);
-        primaryStage.getIcons().add(new Image("assets/favicon/1.png"));
-        primaryStage.setResizable(false);
-
-        setBackgroundImage(root);
+        primaryStage.getIcons().add(SpriteCache.get("assets/favicon/1.png"));
         setBackgroundMusic();
-        setTexts(root, scene);
-        BackgroundManager.setKeyEvents(scene, primaryStage, root);
+        if (benchmark) {
+            StressBenchmark.start(primaryStage);
+        } else if (replayPath != null) {
+            InputReplayer.start(primaryStage, replayPath);
+        } else {
+            showTitle(primaryStage);
+        }
+    }
 
-        primaryStage.show();
+    /**
+     * Finishes the input recording and the replay, if there are any, when the game is closed.
+     */
+    @Override
+    public void stop() {
+        InputRecorder.stop();
+        InputReplayer.stop();
     }
 
     /**
-     * Sets the welcome image for the specified pane.
+     * Shows the title screen in the scene of the game and plays the title music if it is not already playing.
      *
-     * @param root the root pane to set the welcome image for
+     * @param primaryStage the primary stage of the application
      */
-    private void setBackgroundImage(Pane root) {
-        backgroundImageView.setFitWidth(SCREEN_WIDTH);
-        backgroundImageView.setFitHeight(SCREEN_HEIGHT);
-        root.getChildren().add(backgroundImageView);
+    public static void showTitle(Stage primaryStage) {
+        if (titleText == null) {
+            titleText = createTitleText();
+            titleFlash = flashText(titleText);
+        }
+        AnimationScope.enter("title").play(titleFlash);
+        GameScreen.setBackground(backgroundImage);
+        GameScreen.setForeground(null);
+        GameScreen.setDucks(null);
+        GameScreen.setHud(titleText);
+        GameScreen.hideCrosshair();
+        BackgroundManager.setKeyEvents(GameScreen.getScene(), primaryStage);
+        GameScreen.show(primaryStage);
+
+        if (!backgroundMusic.isPlaying()) {
+            backgroundMusic.play();
+        }
     }
 
     /**
-     * Sets the background music and sound effects for beginning of the game.
-     * Loads the all audio clips from the specified resource paths and configures their properties.
-     * Starts playing the background music for title screen.
+     * Sets the background music for beginning of the game.
+     * Loads the title and intro audio clips from the specified resource paths and configures their properties.
+     * The remaining sound effects are decoded by the {@link AssetPreloader} while the intro music plays.
      */
     private void setBackgroundMusic() {
-        introMusic = new AudioClip(Objects.requireNonNull(getClass().getResource("assets/effects/Intro.mp3")).toExternalForm());
-        introMusic.setCycleCount(1);
-        introMusic.setVolume(VOLUME);
-        gunShotMusic = new AudioClip(Objects.requireNonNull(getClass().getResource("assets/effects/Gunshot.mp3")).toExternalForm());
-        gunShotMusic.setCycleCount(1);
-        gunShotMusic.setVolume(VOLUME);
-        duckFallsMusic = new AudioClip(Objects.requireNonNull(getClass().getResource("assets/effects/DuckFalls.mp3")).toExternalForm());
-        duckFallsMusic.setCycleCount(1);
-        duckFallsMusic.setVolume(VOLUME);
-        gameCompletedMusic = new AudioClip(Objects.requireNonNull(getClass().getResource("assets/effects/GameCompleted.mp3")).toExternalForm());
-        gameCompletedMusic.setCycleCount(1);
-        gameCompletedMusic.setVolume(VOLUME);
-        levelCompletedMusic = new AudioClip(Objects.requireNonNull(getClass().getResource("assets/effects/LevelCompleted.mp3")).toExternalForm());
-        levelCompletedMusic.setCycleCount(1);
-        levelCompletedMusic.setVolume(VOLUME);
-        gameOverMusic = new AudioClip(Objects.requireNonNull(getClass().getResource("assets/effects/GameOver.mp3")).toExternalForm());
-        gameOverMusic.setCycleCount(1);
-        gameOverMusic.setVolume(VOLUME);
-        backgroundMusic = new AudioClip(Objects.requireNonNull(getClass().getResource(BACKGROUND_MUSIC_PATH)).toExternalForm());
-        backgroundMusic.setCycleCount(AudioClip.INDEFINITE);
-        backgroundMusic.setVolume(VOLUME);
-        backgroundMusic.play();
+        introMusic = new SoundEffect("assets/effects/Intro.mp3", 1, 6000, false);
+        backgroundMusic = new SoundEffect(BACKGROUND_MUSIC_PATH, 1, 0, true);
+    }
+
+    /**
+     * Loads the sound effects used during the levels, skipping the ones that are already loaded.
+     * Gunshots and falling ducks get several voices so that they can overlap during fast shooting.
+     * This method may be called from a background thread.
+     */
+    public static void loadSoundEffects() {
+        if (gunShotMusic == null) {
+            gunShotMusic = new SoundEffect("assets/effects/Gunshot.mp3", EFFECT_VOICES, 1000, false);
+        }
+        if (duckFallsMusic == null) {
+            duckFallsMusic = new SoundEffect("assets/effects/DuckFalls.mp3", EFFECT_VOICES, 2000, false);
+        }
+        if (gameCompletedMusic == null) {
+            gameCompletedMusic = new SoundEffect("assets/effects/GameCompleted.mp3", 1, 10000, false);
+        }
+        if (levelCompletedMusic == null) {
+            levelCompletedMusic = new SoundEffect("assets/effects/LevelCompleted.mp3", 1, 10000, false);
+        }
+        if (gameOverMusic == null) {
+            gameOverMusic = new SoundEffect("assets/effects/GameOver.mp3", 1, 10000, false);
+        }
     }
 
     /**
-     * Sets the texts for the title screen.
+     * Creates the text of the title screen.
      * Creates a text object with the specified content and font properties.
-     * Applies a flash effect to the text.
      * Positions the text at the center of the screen.
-     * Adds the text to the specified root pane.
      *
-     * @param root  the root pane to which the text will be added
-     * @param scene the scene associated with the root pane
+     * @return the title text
      */
-    private void setTexts(Pane root, Scene scene) {
+    private static Text createTitleText() {
         Text text = new Text("PRESS ENTER TO START\nPRESS ESC TO EXIT");
-        text.setFont(Font.font("Arial", FontWeight.BOLD, 18 * DuckHunt.SCALE));
+        text.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         text.setTextAlignment(TextAlignment.CENTER);
-        flashText(text);
         text.setX((SCREEN_WIDTH - text.getLayoutBounds().getWidth()) / 2);
-        text.setY((scene.getHeight() - text.getLayoutBounds().getHeight()) / 2 + 60 * DuckHunt.SCALE);
+        text.setY((SCREEN_HEIGHT - text.getLayoutBounds().getHeight()) / 2 + 60);
         text.setFill(Color.ORANGE);
-        root.getChildren().addAll(text);
+        return text;
     }
 
     /**
-     * Applies a flash effect to the specified text.
+     * Creates a flash effect for the specified text.
      * Creates a fade transition that alternates the opacity of the text between 1.0 and 0.0.
      * Sets the transition to auto-reverse and indefinite cycle count to create a continuous flash effect.
+     * The transition is not started; the screen that shows the text plays it in its {@link AnimationScope}.
      *
      * @param text the text to apply the flash effect to
+     * @return the flash effect
      */
-    private void flashText(Text text) {
-        FadeTransition fadeTransition = new FadeTransition(Duration.seconds(0.5), text);
+    private static FadeTransition flashText(Text text) {
+        FadeTransition fadeTransition = AnimationTracker.track(new FadeTransition(Duration.seconds(0.5), text));
         fadeTransition.setFromValue(1.0);
         fadeTransition.setToValue(0.0);
         fadeTransition.setAutoReverse(true);
         fadeTransition.setCycleCount(Animation.INDEFINITE);
-        fadeTransition.play();
+        return fadeTransition;
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+
+/**
+ * The DuckMaskLoader class builds the {@link HitMask}s of every duck frame of every colour in all four orientations
+ * from the decoded sprites. This reads the pixels of every frame, so it runs before the first shot rather than on it.
+ */
+public class DuckMaskLoader {
+
+    /**
+     * Builds the duck masks, unless they are already built.
+     */
+    public static synchronized void load() {
+        if (HitMask.hasDuckMasks()) {
+            return;
+        }
+        HitMask[] masks = new HitMask[DuckSpec.SPRITE_COUNT];
+        for (int colour = 0; colour < DuckSpec.COLOURS.length; colour++) {
+            for (int frame = 1; frame <= DuckSpec.FRAME_COUNT; frame++) {
+                Image image = SpriteCache.get(DuckSpec.getFramePath(DuckSpec.COLOURS[colour], frame));
+                int width = (int) image.getWidth();
+                int height = (int) image.getHeight();
+                int[] argb = new int[width * height];
+                image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+                for (int orientation = 0; orientation < DuckSpec.ORIENTATIONS; orientation++) {
+                    masks[DuckSpec.getSpriteIndex(colour, frame, (orientation & 1) != 0 ? -1 : 1, (orientation & 2) != 0 ? -1 : 1)] =
+                            new HitMask(argb, width, height, (orientation & 1) != 0, (orientation & 2) != 0);
+                }
+            }
+        }
+        HitMask.setDuckMasks(masks);
+    }
+}
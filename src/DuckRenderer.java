@@ -0,0 +1,22 @@
+import javafx.scene.Node;
+
+/**
+ * The DuckRenderer interface is implemented by the ways the ducks of a level can be drawn.
+ * A renderer owns a single layer node that the level places between its background and foreground.
+ */
+public interface DuckRenderer {
+
+    /**
+     * Returns the node that shows the ducks.
+     *
+     * @return The layer node of the renderer.
+     */
+    Node getNode();
+
+    /**
+     * Draws every duck of the level at its interpolated position.
+     *
+     * @param alpha The elapsed fraction of the current simulation step.
+     */
+    void render(double alpha);
+}
@@ -0,0 +1,158 @@
+import java.util.List;
+
+/**
+ * The DuckSpec class declares a single duck of a level: its colour, which flap frames it uses,
+ * where it starts and the trajectory it flies along. Many ducks may share one trajectory, each starting at a different
+ * point of its loop.
+ * Positions are given in sprite pixels, before the game is scaled to the screen.
+ */
+public class DuckSpec {
+
+    /**
+     * The colours a duck can have. Each colour has its own folder of animation frames.
+     */
+    public static final String[] COLOURS = {"black", "blue", "red"};
+
+    /**
+     * The number of animation frames of each duck colour.
+     */
+    public static final int FRAME_COUNT = 8;
+
+    /**
+     * The first frame of the diagonal flap animation, used by ducks that fly up and down.
+     */
+    public static final int DIAGONAL_FRAMES = 1;
+
+    /**
+     * The first frame of the horizontal flap animation, used by ducks that fly sideways.
+     */
+    public static final int HORIZONTAL_FRAMES = 4;
+
+    /**
+     * The frame shown right after the duck is shot.
+     */
+    public static final int SHOT_FRAME = 7;
+
+    /**
+     * The frame shown while the duck falls down.
+     */
+    public static final int FALL_FRAME = 8;
+
+    /**
+     * The number of ways a frame can be mirrored: as it is, horizontally, vertically and both ways.
+     */
+    public static final int ORIENTATIONS = 4;
+
+    /**
+     * The number of distinct duck sprites, counting every frame of every colour in every orientation.
+     */
+    public static final int SPRITE_COUNT = COLOURS.length * ORIENTATIONS * FRAME_COUNT;
+
+    private final String colour;
+    private final int colourIndex;
+    private final int firstFrame;
+    private final double startX;
+    private final double startY;
+    private final Trajectory trajectory;
+    private final double phaseMillis;
+
+    /**
+     * Constructs a DuckSpec that starts at the beginning of its trajectory.
+     *
+     * @param colour     The colour of the duck: "black", "blue" or "red".
+     * @param firstFrame The first frame of the flap animation, {@link #DIAGONAL_FRAMES} or {@link #HORIZONTAL_FRAMES}.
+     * @param startX     The initial X position of the duck.
+     * @param startY     The initial Y position of the duck.
+     * @param trajectory The looping flight path of the duck, relative to its initial position.
+     */
+    public DuckSpec(String colour, int firstFrame, double startX, double startY, Trajectory trajectory) {
+        this(colour, firstFrame, startX, startY, trajectory, 0);
+    }
+
+    /**
+     * Constructs a DuckSpec.
+     *
+     * @param colour      The colour of the duck: "black", "blue" or "red".
+     * @param firstFrame  The first frame of the flap animation, {@link #DIAGONAL_FRAMES} or {@link #HORIZONTAL_FRAMES}.
+     * @param startX      The initial X position of the duck.
+     * @param startY      The initial Y position of the duck.
+     * @param trajectory  The looping flight path of the duck, relative to its initial position.
+     * @param phaseMillis How far into its trajectory, and its flap animation, the duck starts, in milliseconds.
+     */
+    public DuckSpec(String colour, int firstFrame, double startX, double startY, Trajectory trajectory, double phaseMillis) {
+        this.colour = colour;
+        this.colourIndex = List.of(COLOURS).indexOf(colour);
+        if (colourIndex < 0) {
+            throw new IllegalArgumentException("There is no " + colour + " duck");
+        }
+        this.firstFrame = firstFrame;
+        this.startX = startX;
+        this.startY = startY;
+        this.trajectory = trajectory;
+        this.phaseMillis = phaseMillis;
+    }
+
+    /**
+     * Returns the asset path of the specified animation frame of this duck.
+     *
+     * @param frame The frame number, from 1 to 8.
+     * @return The asset path of the frame.
+     */
+    public String getFramePath(int frame) {
+        return getFramePath(colour, frame);
+    }
+
+    /**
+     * Returns the asset path of the specified animation frame of a duck of the given colour.
+     *
+     * @param colour The colour of the duck.
+     * @param frame  The frame number, from 1 to 8.
+     * @return The asset path of the frame.
+     */
+    public static String getFramePath(String colour, int frame) {
+        return "assets/duck_" + colour + "/" + frame + ".png";
+    }
+
+    /**
+     * Returns the index of the specified frame in the specified orientation among all duck sprites.
+     * Bit 0 of the orientation stands for a horizontal mirror and bit 1 for a vertical one.
+     *
+     * @param colourIndex The index of the duck colour in {@link #COLOURS}.
+     * @param frame       The frame number, from 1 to 8.
+     * @param facingX     The horizontal facing of the duck, -1 for mirrored.
+     * @param facingY     The vertical facing of the duck, -1 for mirrored.
+     * @return The sprite index, from 0 to {@link #SPRITE_COUNT} - 1.
+     */
+    public static int getSpriteIndex(int colourIndex, int frame, double facingX, double facingY) {
+        int orientation = (facingX < 0 ? 1 : 0) | (facingY < 0 ? 2 : 0);
+        return (colourIndex * ORIENTATIONS + orientation) * FRAME_COUNT + frame - 1;
+    }
+
+    public String getColour() {
+        return colour;
+    }
+
+    public int getColourIndex() {
+        return colourIndex;
+    }
+
+    public int getFirstFrame() {
+        return firstFrame;
+    }
+
+    public double getStartX() {
+        return startX;
+    }
+
+    public double getStartY() {
+        return startY;
+    }
+
+    public Trajectory getTrajectory() {
+        return trajectory;
+    }
+
+    public double getPhaseMillis() {
+        return phaseMillis;
+    }
+}
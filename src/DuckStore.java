@@ -0,0 +1,642 @@
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The DuckStore class holds every duck of a level in parallel primitive arrays, one slot per duck, in the order of
+ * the ducks of the {@link LevelSpec}. Each duck follows the trajectory of its specification and flaps its wings
+ * as the game loop advances it; once shot, it hangs in the air for a moment and then falls to the ground.
+ * A step is a single linear scan over the arrays without any objects per duck, so that even tens of thousands of
+ * ducks can be simulated per frame. The trajectories are evaluated from their compiled {@link TrajectoryTable}s,
+ * which all ducks flying the same trajectory share. The flying ducks are also marked in a bitmap,
+ * which the simulation walks instead of testing every duck.
+ * The position, frame, facing and state of the ducks are triple-buffered: the front buffers hold the published step,
+ * which rendering and hit-testing read, the previous buffers hold the step before, which rendering interpolates from,
+ * and a step writes into the next buffers, which only become the front ones once every duck is done.
+ * Since every duck moves on its own, a step can be split over the worker threads of the common fork-join pool,
+ * which is enabled with the --parallel command line argument. The workers then compute the next step while the
+ * calling thread renders and hit-tests the published one, and the next call of {@link #step} only waits for them
+ * to finish and publishes their result. A duck shot while the workers run is stepped again once they are done,
+ * so the ducks end up exactly where a sequential step puts them and replays are unaffected.
+ * The store only holds the state of the ducks, in sprite pixels; drawing them is left to a {@link DuckRenderer}.
+ */
+public class DuckStore {
+
+    /**
+     * The duck is flying along its trajectory.
+     */
+    public static final byte FLYING = 0;
+
+    /**
+     * The duck has just been shot and hangs in the air.
+     */
+    public static final byte SHOT = 1;
+
+    /**
+     * The duck is falling to the ground.
+     */
+    public static final byte FALLING = 2;
+
+    /**
+     * The duck has hit the ground and is no longer drawn.
+     */
+    public static final byte GONE = 3;
+
+    /**
+     * The time each flap frame is shown in milliseconds.
+     */
+    private static final double FLAP_FRAME_MILLIS = 100;
+
+    /**
+     * The order of the flap frames in one flap cycle. The wings go up and then come back down.
+     */
+    private static final byte[] FLAP_SEQUENCE = {0, 1, 2, 2, 1, 0};
+
+    /**
+     * The time a shot duck hangs in the air before it starts falling, in milliseconds.
+     */
+    private static final double SHOT_MILLIS = 400;
+
+    /**
+     * The time a shot duck takes to fall to the ground, in milliseconds.
+     */
+    private static final double FALL_MILLIS = 800;
+
+    /**
+     * The number of past steps whose position is remembered, so that a shot can be tested against
+     * where a duck was on screen when the player fired rather than where it is now.
+     */
+    private static final int REMEMBERED_STEPS = 8;
+
+    /**
+     * The number of slots of the history: the remembered steps and the step the workers may be writing.
+     */
+    private static final int HISTORY_STEPS = REMEMBERED_STEPS + 1;
+
+    /**
+     * The fewest ducks a task of a parallel step is given. Levels with no more ducks than this are always stepped
+     * on the calling thread, since handing them to the workers costs more than it saves.
+     */
+    private static final int MIN_PARTITION_DUCKS = 256;
+
+    /**
+     * Whether steps are split over the worker threads of the common fork-join pool.
+     */
+    private static boolean parallel = false;
+
+    private final int count;
+    private final double groundY;
+    private final DuckSpec[] specs;
+    private final TrajectoryTable[] paths;
+    private final double[] startX;
+    private final double[] startY;
+    private final double[] width;
+    private final double[] height;
+    private double[] x;
+    private double[] y;
+    private double[] previousX;
+    private double[] previousY;
+    private double[] nextX;
+    private double[] nextY;
+    private final double[] elapsedMillis;
+    private final double[] deadMillis;
+    private final double[] fallStartY;
+    private final byte[] colour;
+    private final byte[] firstFrame;
+    private byte[] frame;
+    private byte[] facingX;
+    private byte[] facingY;
+    private byte[] previousFrame;
+    private byte[] previousFacingX;
+    private byte[] previousFacingY;
+    private byte[] nextFrame;
+    private byte[] nextFacingX;
+    private byte[] nextFacingY;
+    private byte[] state;
+    private byte[] previousState;
+    private byte[] nextState;
+    private double lastStepMillis = 0;
+
+    /**
+     * The number of ducks a task of a parallel step is given at most, set from the number of ducks and workers.
+     */
+    private final int partitionDucks;
+
+    /**
+     * The step the workers are computing ahead, or null if there is none, and how long it is.
+     */
+    private StepTask stepAhead;
+    private double stepAheadMillis;
+
+    /**
+     * The ducks shot while the workers were computing the step ahead, which are stepped again once it is done.
+     */
+    private final int[] shotDuringStep;
+    private int shotDuringStepCount = 0;
+
+    /**
+     * One bit per duck, set while the duck is flying.
+     */
+    private final int[] alive;
+    private int aliveCount;
+
+    /**
+     * The remembered positions, frames and facings of the flying ducks. The history of every duck is written
+     * in the same step, so the steps are stored one after the other, each holding one slot per duck.
+     */
+    private final double[] historyX;
+    private final double[] historyY;
+    private final byte[] historyFrame;
+    private final byte[] historyFacingX;
+    private final byte[] historyFacingY;
+    private int historyHead = 0;
+    private int historyCount = 1;
+
+    /**
+     * Constructs a DuckStore with every duck at the initial position of its specification.
+     *
+     * @param ducks   The specifications of the ducks.
+     * @param widths  Returns the width of the sprite of a duck.
+     * @param heights Returns the height of the sprite of a duck.
+     * @param groundY The Y position a shot duck falls down to.
+     */
+    public DuckStore(List<DuckSpec> ducks, ToDoubleFunction<DuckSpec> widths, ToDoubleFunction<DuckSpec> heights, double groundY) {
+        count = ducks.size();
+        this.groundY = groundY;
+        specs = ducks.toArray(new DuckSpec[0]);
+        paths = new TrajectoryTable[count];
+        startX = new double[count];
+        startY = new double[count];
+        width = new double[count];
+        height = new double[count];
+        x = new double[count];
+        y = new double[count];
+        previousX = new double[count];
+        previousY = new double[count];
+        nextX = new double[count];
+        nextY = new double[count];
+        elapsedMillis = new double[count];
+        deadMillis = new double[count];
+        fallStartY = new double[count];
+        colour = new byte[count];
+        firstFrame = new byte[count];
+        frame = new byte[count];
+        facingX = new byte[count];
+        facingY = new byte[count];
+        previousFrame = new byte[count];
+        previousFacingX = new byte[count];
+        previousFacingY = new byte[count];
+        nextFrame = new byte[count];
+        nextFacingX = new byte[count];
+        nextFacingY = new byte[count];
+        state = new byte[count];
+        previousState = new byte[count];
+        nextState = new byte[count];
+        partitionDucks = Math.max(MIN_PARTITION_DUCKS, count / (4 * ForkJoinPool.getCommonPoolParallelism()));
+        shotDuringStep = new int[count];
+        alive = new int[(count + 31) >>> 5];
+        historyX = new double[HISTORY_STEPS * count];
+        historyY = new double[HISTORY_STEPS * count];
+        historyFrame = new byte[HISTORY_STEPS * count];
+        historyFacingX = new byte[HISTORY_STEPS * count];
+        historyFacingY = new byte[HISTORY_STEPS * count];
+
+        for (int i = 0; i < count; i++) {
+            DuckSpec spec = specs[i];
+            TrajectoryTable path = spec.getTrajectory().compile();
+            paths[i] = path;
+            startX[i] = spec.getStartX();
+            startY[i] = spec.getStartY();
+            width[i] = widths.applyAsDouble(spec);
+            height[i] = heights.applyAsDouble(spec);
+            // The duck has flown its phase already, so that ducks sharing a trajectory are spread along it
+            elapsedMillis[i] = spec.getPhaseMillis();
+            double loopTime = path.loopTime(elapsedMillis[i]);
+            int segment = path.segmentAt(loopTime);
+            x[i] = previousX[i] = startX[i] + path.getX(segment, loopTime);
+            y[i] = previousY[i] = startY[i] + path.getY(segment, loopTime);
+            facingX[i] = path.getFacingX(segment);
+            facingY[i] = path.getFacingY(segment);
+            colour[i] = (byte) spec.getColourIndex();
+            firstFrame[i] = (byte) spec.getFirstFrame();
+            frame[i] = flapFrame(firstFrame[i], elapsedMillis[i]);
+            state[i] = FLYING;
+            alive[i >>> 5] |= 1 << i;
+            remember(i, x[i], y[i], frame[i], facingX[i], facingY[i]);
+        }
+        aliveCount = count;
+    }
+
+    /**
+     * Advances every duck by one simulation step: the flying ones along their trajectories
+     * and the shot ones towards the ground. The step is published before this method returns.
+     * In parallel mode, levels with more than {@link #MIN_PARTITION_DUCKS} ducks are stepped by the workers of the
+     * common fork-join pool one step ahead: this call waits for the step they started in the last call, publishes it
+     * and starts the workers on the next one, which the calling thread does not touch until the next call.
+     *
+     * @param stepMillis The duration of the step in milliseconds, the same for every step in parallel mode.
+     */
+    public void step(double stepMillis) {
+        int historyBase = (historyHead + 1) % HISTORY_STEPS * count;
+        if (stepAhead != null) {
+            if (stepMillis != stepAheadMillis) {
+                throw new IllegalArgumentException("A step of " + stepMillis + " ms was asked for, but the step of "
+                        + stepAheadMillis + " ms has already been started");
+            }
+            stepAhead.join();
+            stepAhead = null;
+            // The workers stepped these ducks as they were before they were shot
+            for (int i = 0; i < shotDuringStepCount; i++) {
+                int duck = shotDuringStep[i];
+                deadMillis[duck] = 0;
+                stepRange(duck, duck + 1, stepMillis, historyBase);
+            }
+            shotDuringStepCount = 0;
+        } else {
+            stepRange(0, count, stepMillis, historyBase);
+        }
+        publish(stepMillis);
+        if (parallel && count > MIN_PARTITION_DUCKS) {
+            stepAhead = new StepTask(0, count, stepMillis, (historyHead + 1) % HISTORY_STEPS * count);
+            stepAheadMillis = stepMillis;
+            ForkJoinPool.commonPool().execute(stepAhead);
+        }
+    }
+
+    /**
+     * Advances a range of ducks by one step, from the front buffers into the next buffers.
+     * Ranges that do not overlap may be stepped at the same time by different threads.
+     *
+     * @param from        The index of the first duck of the range.
+     * @param to          The index after the last duck of the range.
+     * @param stepMillis  The duration of the step in milliseconds.
+     * @param historyBase The index of the first slot of the step in the history arrays.
+     */
+    private void stepRange(int from, int to, double stepMillis, int historyBase) {
+        for (int i = from; i < to; i++) {
+            byte duckState = state[i];
+            double oldX = x[i];
+            double oldY = y[i];
+            double newX = oldX;
+            double newY = oldY;
+            byte newFrame = frame[i];
+            byte newFacingX = facingX[i];
+            byte newFacingY = facingY[i];
+            if (duckState == FLYING) {
+                double elapsed = elapsedMillis[i] + stepMillis;
+                elapsedMillis[i] = elapsed;
+                TrajectoryTable path = paths[i];
+                double loopTime = path.loopTime(elapsed);
+                int segment = path.segmentAt(loopTime);
+                newX = startX[i] + path.getX(segment, loopTime);
+                newY = startY[i] + path.getY(segment, loopTime);
+                newFacingX = path.getFacingX(segment);
+                newFacingY = path.getFacingY(segment);
+                newFrame = flapFrame(firstFrame[i], elapsed);
+                remember(historyBase + i, newX, newY, newFrame, newFacingX, newFacingY);
+            } else if (duckState != GONE) {
+                double dead = deadMillis[i] + stepMillis;
+                deadMillis[i] = dead;
+                if (dead >= SHOT_MILLIS) {
+                    double fallFraction = Math.min(1, (dead - SHOT_MILLIS) / FALL_MILLIS);
+                    newY = fallStartY[i] + (groundY - fallStartY[i]) * fallFraction;
+                    newFrame = DuckSpec.FALL_FRAME;
+                    duckState = dead >= SHOT_MILLIS + FALL_MILLIS ? GONE : FALLING;
+                }
+            }
+            nextX[i] = newX;
+            nextY[i] = newY;
+            nextFrame[i] = newFrame;
+            nextFacingX[i] = newFacingX;
+            nextFacingY[i] = newFacingY;
+            nextState[i] = duckState;
+        }
+    }
+
+    /**
+     * Publishes the step that has just been written by rotating the buffers: the front buffers become the previous
+     * ones, which rendering interpolates from, the next buffers become the front ones, and the old previous buffers
+     * receive the step after.
+     *
+     * @param stepMillis The duration of the step in milliseconds.
+     */
+    private void publish(double stepMillis) {
+        double[] freeX = previousX;
+        previousX = x;
+        x = nextX;
+        nextX = freeX;
+        double[] freeY = previousY;
+        previousY = y;
+        y = nextY;
+        nextY = freeY;
+        byte[] freeFrame = previousFrame;
+        previousFrame = frame;
+        frame = nextFrame;
+        nextFrame = freeFrame;
+        byte[] freeFacingX = previousFacingX;
+        previousFacingX = facingX;
+        facingX = nextFacingX;
+        nextFacingX = freeFacingX;
+        byte[] freeFacingY = previousFacingY;
+        previousFacingY = facingY;
+        facingY = nextFacingY;
+        nextFacingY = freeFacingY;
+        byte[] freeState = previousState;
+        previousState = state;
+        state = nextState;
+        nextState = freeState;
+        historyHead = (historyHead + 1) % HISTORY_STEPS;
+        historyCount = Math.min(historyCount + 1, REMEMBERED_STEPS);
+        lastStepMillis = stepMillis;
+    }
+
+    /**
+     * Writes the position, frame and facing of a flying duck into a slot of the history.
+     *
+     * @param slot         The index of the slot in the history arrays.
+     * @param duckX       The X position of the duck.
+     * @param duckY       The Y position of the duck.
+     * @param duckFrame   The frame of the duck.
+     * @param duckFacingX The horizontal facing of the duck.
+     * @param duckFacingY The vertical facing of the duck.
+     */
+    private void remember(int slot, double duckX, double duckY, byte duckFrame, byte duckFacingX, byte duckFacingY) {
+        historyX[slot] = duckX;
+        historyY[slot] = duckY;
+        historyFrame[slot] = duckFrame;
+        historyFacingX[slot] = duckFacingX;
+        historyFacingY[slot] = duckFacingY;
+    }
+
+    /**
+     * The StepTask class steps a range of ducks as part of a parallel step, splitting it in halves
+     * until each part is small enough to be stepped by one worker.
+     */
+    private class StepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final double stepMillis;
+        private final int historyBase;
+
+        /**
+         * Constructs a StepTask.
+         *
+         * @param from        The index of the first duck of the range.
+         * @param to          The index after the last duck of the range.
+         * @param stepMillis  The duration of the step in milliseconds.
+         * @param historyBase The index of the first slot of the step in the history arrays.
+         */
+        StepTask(int from, int to, double stepMillis, int historyBase) {
+            this.from = from;
+            this.to = to;
+            this.stepMillis = stepMillis;
+            this.historyBase = historyBase;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= partitionDucks) {
+                stepRange(from, to, stepMillis, historyBase);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new StepTask(from, middle, stepMillis, historyBase), new StepTask(middle, to, stepMillis, historyBase));
+        }
+    }
+
+    /**
+     * Sets whether steps of large levels are computed ahead by the worker threads of the common fork-join pool.
+     *
+     * @param enabled Whether to step in parallel.
+     */
+    public static void setParallel(boolean enabled) {
+        parallel = enabled;
+    }
+
+    public static boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Returns the index in the history arrays of a duck the specified number of steps ago.
+     *
+     * @param duck     The index of the duck.
+     * @param stepsAgo The number of steps back, less than the number of remembered steps.
+     * @return The index into the history arrays.
+     */
+    private int historySlot(int duck, int stepsAgo) {
+        return (historyHead - stepsAgo + HISTORY_STEPS) % HISTORY_STEPS * count + duck;
+    }
+
+    /**
+     * Shoots a duck. It stops where it is, shows the shot frame and then falls to the ground.
+     * If the workers are computing the step ahead, they may still move the duck as if it were flying,
+     * so it is stepped again once they are done.
+     *
+     * @param duck The index of the duck.
+     */
+    public void kill(int duck) {
+        if (!isAlive(duck)) {
+            return;
+        }
+        if (stepAhead != null) {
+            shotDuringStep[shotDuringStepCount++] = duck;
+        }
+        state[duck] = SHOT;
+        alive[duck >>> 5] &= ~(1 << duck);
+        aliveCount--;
+        deadMillis[duck] = 0;
+        previousX[duck] = x[duck];
+        previousY[duck] = y[duck];
+        fallStartY[duck] = y[duck];
+        frame[duck] = DuckSpec.SHOT_FRAME;
+    }
+
+    /**
+     * Returns whether the specified point lies on a visible pixel of a duck. Points outside the sprite bounds
+     * are rejected first; the rest are looked up in the precomputed {@link HitMask} of the current frame.
+     * Without duck masks, as when the simulation runs headless, the whole sprite bounds count as the duck.
+     *
+     * @param duck   The index of the duck.
+     * @param pointX The X coordinate in sprite pixels.
+     * @param pointY The Y coordinate in sprite pixels.
+     * @return true if the point is on the duck.
+     */
+    public boolean contains(int duck, double pointX, double pointY) {
+        return contains(duck, pointX, pointY, 0);
+    }
+
+    /**
+     * Returns whether the specified point lay on a visible pixel of a flying duck some time ago.
+     * The position is interpolated between the two remembered steps around that time, and the frame and facing
+     * of the nearer one are used. Times further back than the history reaches use the oldest remembered step.
+     *
+     * @param duck     The index of the duck.
+     * @param pointX   The X coordinate in sprite pixels.
+     * @param pointY   The Y coordinate in sprite pixels.
+     * @param stepsAgo How long ago, in simulation steps; it may be a fraction of a step.
+     * @return true if the point was on the duck.
+     */
+    public boolean contains(int duck, double pointX, double pointY, double stepsAgo) {
+        double back = Math.min(Math.max(stepsAgo, 0), historyCount - 1);
+        int newer = (int) back;
+        double fraction = back - newer;
+        int newerSlot = historySlot(duck, newer);
+        int olderSlot = historySlot(duck, Math.min(newer + 1, historyCount - 1));
+        double duckX = historyX[newerSlot] + (historyX[olderSlot] - historyX[newerSlot]) * fraction;
+        double duckY = historyY[newerSlot] + (historyY[olderSlot] - historyY[newerSlot]) * fraction;
+        if (pointX < duckX || pointX >= duckX + width[duck] || pointY < duckY || pointY >= duckY + height[duck]) {
+            return false;
+        }
+        int nearestSlot = fraction < 0.5 ? newerSlot : olderSlot;
+        HitMask mask = HitMask.getDuckMask(colour[duck], historyFrame[nearestSlot],
+                historyFacingX[nearestSlot], historyFacingY[nearestSlot]);
+        return mask == null || mask.isOpaque((int) Math.floor(pointX - duckX), (int) Math.floor(pointY - duckY));
+    }
+
+    /**
+     * Returns the index of the first flying duck at or after the specified index, like {@link java.util.BitSet#nextSetBit}.
+     * The flying ducks are walked with {@code for (int i = store.nextAlive(0); i >= 0; i = store.nextAlive(i + 1))}.
+     *
+     * @param from The index to start looking at.
+     * @return The index of the flying duck, or -1 if there is none.
+     */
+    public int nextAlive(int from) {
+        if (from >= count) {
+            return -1;
+        }
+        int word = from >>> 5;
+        int bits = alive[word] & (-1 << from);
+        while (bits == 0) {
+            if (++word == alive.length) {
+                return -1;
+            }
+            bits = alive[word];
+        }
+        return (word << 5) + Integer.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the X position of a duck interpolated between the previous and the current step.
+     *
+     * @param duck  The index of the duck.
+     * @param alpha The elapsed fraction of the current simulation step.
+     * @return The interpolated X position in sprite pixels.
+     */
+    public double getRenderX(int duck, double alpha) {
+        return previousX[duck] + (x[duck] - previousX[duck]) * alpha;
+    }
+
+    /**
+     * Returns the Y position of a duck interpolated between the previous and the current step.
+     *
+     * @param duck  The index of the duck.
+     * @param alpha The elapsed fraction of the current simulation step.
+     * @return The interpolated Y position in sprite pixels.
+     */
+    public double getRenderY(int duck, double alpha) {
+        return previousY[duck] + (y[duck] - previousY[duck]) * alpha;
+    }
+
+    /**
+     * Returns whether a duck is still flying.
+     *
+     * @param duck The index of the duck.
+     * @return true if the duck has not been shot.
+     */
+    public boolean isAlive(int duck) {
+        return (alive[duck >>> 5] & (1 << duck)) != 0;
+    }
+
+    /**
+     * Returns whether a duck has been shot and has already hit the ground.
+     *
+     * @param duck The index of the duck.
+     * @return true if the duck no longer needs to be drawn.
+     */
+    public boolean isGone(int duck) {
+        return state[duck] == GONE;
+    }
+
+    /**
+     * Returns the flap frame a flying duck shows after the specified time.
+     *
+     * @param firstFrame    The first frame of the flap animation of the duck.
+     * @param elapsedMillis The time the duck has been flying, including its phase, in milliseconds.
+     * @return The frame number.
+     */
+    private static byte flapFrame(byte firstFrame, double elapsedMillis) {
+        return (byte) (firstFrame + FLAP_SEQUENCE[(int) (elapsedMillis / FLAP_FRAME_MILLIS) % FLAP_SEQUENCE.length]);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    public DuckSpec getSpec(int duck) {
+        return specs[duck];
+    }
+
+    public double getX(int duck) {
+        return x[duck];
+    }
+
+    public double getY(int duck) {
+        return y[duck];
+    }
+
+    /**
+     * Returns the horizontal velocity of a duck over the last step.
+     *
+     * @param duck The index of the duck.
+     * @return The velocity in sprite pixels per millisecond.
+     */
+    public double getVelocityX(int duck) {
+        return lastStepMillis > 0 ? (x[duck] - previousX[duck]) / lastStepMillis : 0;
+    }
+
+    /**
+     * Returns the vertical velocity of a duck over the last step.
+     *
+     * @param duck The index of the duck.
+     * @return The velocity in sprite pixels per millisecond.
+     */
+    public double getVelocityY(int duck) {
+        return lastStepMillis > 0 ? (y[duck] - previousY[duck]) / lastStepMillis : 0;
+    }
+
+    public double getWidth(int duck) {
+        return width[duck];
+    }
+
+    public double getHeight(int duck) {
+        return height[duck];
+    }
+
+    public int getColourIndex(int duck) {
+        return colour[duck];
+    }
+
+    public int getFrame(int duck) {
+        return frame[duck];
+    }
+
+    public int getFacingX(int duck) {
+        return facingX[duck];
+    }
+
+    public int getFacingY(int duck) {
+        return facingY[duck];
+    }
+
+    public byte getState(int duck) {
+        return state[duck];
+    }
+}
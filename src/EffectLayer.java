@@ -0,0 +1,148 @@
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import java.util.Random;
+
+/**
+ * The EffectLayer class shows the effects of the running level, such as the feathers of a shot duck.
+ * The effects live in an {@link EffectPool} and each slot of the pool is drawn by its own node. Both the pool and
+ * the nodes are created once and shared by all levels, so starting an effect when a duck is hit allocates nothing.
+ * When the ducks are drawn on a canvas, the effects are drawn onto it too and the nodes stay hidden.
+ */
+public class EffectLayer {
+
+    /**
+     * The number of effects that can be shown at the same time. Beyond this, the oldest effects are recycled.
+     */
+    private static final int CAPACITY = 128;
+
+    private static final int FEATHERS_PER_DUCK = 8;
+    private static final double FEATHER_WIDTH = 3;
+    private static final double FEATHER_HEIGHT = 1;
+    private static final double FEATHER_MIN_MILLIS = 700;
+    private static final double FEATHER_MAX_MILLIS = 1300;
+    private static final double FEATHER_SPEED = 0.05;
+
+    /**
+     * The number of turns a feather makes over its life.
+     */
+    private static final double FEATHER_TURNS = 2;
+
+    /**
+     * The colour of the feathers of each duck colour, in the order of {@link DuckSpec#COLOURS}.
+     */
+    private static final Color[] FEATHER_COLOURS = {Color.rgb(60, 60, 60), Color.rgb(40, 90, 200), Color.rgb(170, 40, 30)};
+
+    private static final EffectPool pool = new EffectPool(CAPACITY);
+    private static final Rectangle[] shapes = new Rectangle[CAPACITY];
+    private static final Group node = new Group();
+    private static final Random random = new Random();
+    private static int shownCount = 0;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            shapes[i] = new Rectangle(FEATHER_WIDTH, FEATHER_HEIGHT);
+            shapes[i].setVisible(false);
+        }
+        node.getChildren().addAll(shapes);
+        node.setMouseTransparent(true);
+    }
+
+    /**
+     * Returns the node of the layer, which the game scene keeps between the ducks and the foreground.
+     *
+     * @return The layer node.
+     */
+    public static Node getNode() {
+        return node;
+    }
+
+    /**
+     * Bursts feathers out of the middle of a duck that has just been shot.
+     *
+     * @param ducks The ducks of the level.
+     * @param duck  The index of the shot duck.
+     */
+    public static void spawnFeathers(DuckStore ducks, int duck) {
+        double centreX = ducks.getX(duck) + ducks.getWidth(duck) / 2;
+        double centreY = ducks.getY(duck) + ducks.getHeight(duck) / 2;
+        int colour = ducks.getColourIndex(duck);
+        for (int i = 0; i < FEATHERS_PER_DUCK; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = FEATHER_SPEED * (0.3 + 0.7 * random.nextDouble());
+            pool.spawn(EffectPool.FEATHER, colour, centreX, centreY, Math.cos(angle) * speed, Math.sin(angle) * speed,
+                    FEATHER_MIN_MILLIS + random.nextDouble() * (FEATHER_MAX_MILLIS - FEATHER_MIN_MILLIS), i % 2 == 0 ? 1 : -1);
+        }
+    }
+
+    /**
+     * Advances every effect by one simulation step.
+     *
+     * @param stepMillis The duration of the step in milliseconds.
+     */
+    public static void step(double stepMillis) {
+        pool.update(stepMillis);
+    }
+
+    /**
+     * Moves the node of every active effect into place and hides the nodes of the slots that have been freed.
+     */
+    public static void render() {
+        int count = pool.getCount();
+        for (int i = 0; i < count; i++) {
+            Rectangle shape = shapes[i];
+            double progress = pool.getProgress(i);
+            shape.setTranslateX(pool.getX(i));
+            shape.setTranslateY(pool.getY(i));
+            shape.setRotate(pool.getSpin(i) * 360 * FEATHER_TURNS * progress);
+            shape.setOpacity(1 - progress);
+            shape.setFill(FEATHER_COLOURS[pool.getVariant(i)]);
+            shape.setVisible(true);
+        }
+        for (int i = count; i < shownCount; i++) {
+            shapes[i].setVisible(false);
+        }
+        shownCount = count;
+    }
+
+    /**
+     * Draws every active effect onto the canvas of the ducks and hides the nodes of the layer.
+     *
+     * @param graphicsContext The graphics context of the canvas, with the ducks already drawn.
+     * @param scale           The number of canvas pixels per sprite pixel.
+     */
+    public static void draw(GraphicsContext graphicsContext, double scale) {
+        for (int i = 0; i < shownCount; i++) {
+            shapes[i].setVisible(false);
+        }
+        shownCount = 0;
+        int count = pool.getCount();
+        double halfWidth = FEATHER_WIDTH * scale / 2;
+        double halfHeight = FEATHER_HEIGHT * scale / 2;
+        for (int i = 0; i < count; i++) {
+            double progress = pool.getProgress(i);
+            double angle = Math.toRadians(pool.getSpin(i) * 360 * FEATHER_TURNS * progress);
+            double cos = Math.cos(angle);
+            double sin = Math.sin(angle);
+            // Rotate about the middle of the feather, as the node of the feather does
+            graphicsContext.setTransform(cos, sin, -sin, cos,
+                    pool.getX(i) * scale + halfWidth, pool.getY(i) * scale + halfHeight);
+            graphicsContext.setGlobalAlpha(1 - progress);
+            graphicsContext.setFill(FEATHER_COLOURS[pool.getVariant(i)]);
+            graphicsContext.fillRect(-halfWidth, -halfHeight, 2 * halfWidth, 2 * halfHeight);
+        }
+        graphicsContext.setTransform(1, 0, 0, 1, 0, 0);
+        graphicsContext.setGlobalAlpha(1);
+    }
+
+    /**
+     * Removes every effect, for example when a level ends or the title screen is shown.
+     */
+    public static void clear() {
+        pool.clear();
+        render();
+    }
+}
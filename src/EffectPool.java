@@ -0,0 +1,187 @@
+/**
+ * The EffectPool class holds the short-lived visual effects of a level, such as the feathers that burst out of a shot
+ * duck, in a fixed set of slots allocated up front. Spawning an effect reuses a free slot, and once the pool is full
+ * the oldest effect is recycled, so effects never allocate while the game runs.
+ * Effects move in sprite pixels, like the ducks, and are advanced by the game loop.
+ */
+public class EffectPool {
+
+    /**
+     * A feather drifting down from a shot duck. Its variant is the colour index of the duck.
+     */
+    public static final int FEATHER = 0;
+
+    /**
+     * The downward acceleration of a feather in sprite pixels per square millisecond.
+     */
+    private static final double FEATHER_GRAVITY = 0.00006;
+
+    /**
+     * The fraction of its velocity a feather keeps after each millisecond, as air slows it down.
+     */
+    private static final double FEATHER_DRAG = 0.996;
+
+    private final int[] kind;
+    private final int[] variant;
+    private final double[] x;
+    private final double[] y;
+    private final double[] velocityX;
+    private final double[] velocityY;
+    private final double[] ageMillis;
+    private final double[] lifeMillis;
+    private final byte[] spin;
+    private int count = 0;
+
+    /**
+     * Constructs an empty EffectPool.
+     *
+     * @param capacity The number of effects that can be shown at the same time.
+     */
+    public EffectPool(int capacity) {
+        kind = new int[capacity];
+        variant = new int[capacity];
+        x = new double[capacity];
+        y = new double[capacity];
+        velocityX = new double[capacity];
+        velocityY = new double[capacity];
+        ageMillis = new double[capacity];
+        lifeMillis = new double[capacity];
+        spin = new byte[capacity];
+    }
+
+    /**
+     * Starts a new effect, recycling the oldest one if every slot is taken.
+     *
+     * @param effectKind      The kind of the effect, such as {@link #FEATHER}.
+     * @param effectVariant   The variant of the effect, whose meaning depends on its kind.
+     * @param startX          The initial X position.
+     * @param startY          The initial Y position.
+     * @param startVelocityX  The initial horizontal velocity in sprite pixels per millisecond.
+     * @param startVelocityY  The initial vertical velocity in sprite pixels per millisecond.
+     * @param durationMillis  How long the effect lasts in milliseconds.
+     * @param spinDirection   The direction the effect turns in, 1 for clockwise and -1 for counterclockwise.
+     */
+    public void spawn(int effectKind, int effectVariant, double startX, double startY,
+                      double startVelocityX, double startVelocityY, double durationMillis, int spinDirection) {
+        int slot = count < kind.length ? count++ : oldest();
+        kind[slot] = effectKind;
+        variant[slot] = effectVariant;
+        x[slot] = startX;
+        y[slot] = startY;
+        velocityX[slot] = startVelocityX;
+        velocityY[slot] = startVelocityY;
+        ageMillis[slot] = 0;
+        lifeMillis[slot] = durationMillis;
+        spin[slot] = spinDirection < 0 ? (byte) -1 : (byte) 1;
+    }
+
+    /**
+     * Advances every effect by one step and frees the ones that have run their course.
+     *
+     * @param stepMillis The duration of the step in milliseconds.
+     */
+    public void update(double stepMillis) {
+        double drag = Math.pow(FEATHER_DRAG, stepMillis);
+        int i = 0;
+        while (i < count) {
+            ageMillis[i] += stepMillis;
+            if (ageMillis[i] >= lifeMillis[i]) {
+                free(i);
+                continue; // The last effect has been moved into this slot
+            }
+            if (kind[i] == FEATHER) {
+                velocityX[i] *= drag;
+                velocityY[i] = velocityY[i] * drag + FEATHER_GRAVITY * stepMillis;
+            }
+            x[i] += velocityX[i] * stepMillis;
+            y[i] += velocityY[i] * stepMillis;
+            i++;
+        }
+    }
+
+    /**
+     * Frees every effect.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Frees the effect in the specified slot by moving the last effect into it.
+     *
+     * @param slot The slot to free.
+     */
+    private void free(int slot) {
+        int last = --count;
+        kind[slot] = kind[last];
+        variant[slot] = variant[last];
+        x[slot] = x[last];
+        y[slot] = y[last];
+        velocityX[slot] = velocityX[last];
+        velocityY[slot] = velocityY[last];
+        ageMillis[slot] = ageMillis[last];
+        lifeMillis[slot] = lifeMillis[last];
+        spin[slot] = spin[last];
+    }
+
+    /**
+     * Returns the slot of the effect that has run the largest part of its life.
+     *
+     * @return The slot of the oldest effect.
+     */
+    private int oldest() {
+        int oldest = 0;
+        for (int i = 1; i < count; i++) {
+            if (ageMillis[i] / lifeMillis[i] > ageMillis[oldest] / lifeMillis[oldest]) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Returns the number of effects that are showing. Their slots run from 0 to this number - 1.
+     *
+     * @return The number of active effects.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public int getKind(int slot) {
+        return kind[slot];
+    }
+
+    public int getVariant(int slot) {
+        return variant[slot];
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Returns the direction the effect in the specified slot turns in. It stays the same when the effect is moved
+     * to another slot.
+     *
+     * @param slot The slot of the effect.
+     * @return 1 for clockwise, -1 for counterclockwise.
+     */
+    public int getSpin(int slot) {
+        return spin[slot];
+    }
+
+    /**
+     * Returns how far the effect in the specified slot is through its life.
+     *
+     * @param slot The slot of the effect.
+     * @return The elapsed fraction of its life, from 0 to 1.
+     */
+    public double getProgress(int slot) {
+        return ageMillis[slot] / lifeMillis[slot];
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.Arrays;
+
+/**
+ * The FrameStats class keeps the durations of the most recent frames in a ring buffer together with a histogram
+ * of them, so that the frame rate and the frame-time percentiles can be read at any time without sorting or allocating.
+ * Durations are in milliseconds.
+ */
+public class FrameStats {
+
+    /**
+     * The width of a histogram bucket in milliseconds.
+     */
+    private static final double BUCKET_MILLIS = 0.25;
+
+    /**
+     * The number of histogram buckets. Longer frames all fall into the last bucket.
+     */
+    private static final int BUCKET_COUNT = 1000;
+
+    private final double[] frames;
+    private final int[] buckets = new int[BUCKET_COUNT];
+    private int next = 0;
+    private int count = 0;
+    private double totalMillis = 0;
+
+    /**
+     * Constructs an empty FrameStats.
+     *
+     * @param capacity The number of most recent frames that are kept.
+     */
+    public FrameStats(int capacity) {
+        frames = new double[capacity];
+    }
+
+    /**
+     * Records the duration of a frame, replacing the oldest frame once the buffer is full.
+     *
+     * @param frameMillis The duration of the frame in milliseconds.
+     */
+    public void record(double frameMillis) {
+        if (count == frames.length) {
+            double oldest = frames[next];
+            totalMillis -= oldest;
+            buckets[bucketOf(oldest)]--;
+        } else {
+            count++;
+        }
+        frames[next] = frameMillis;
+        totalMillis += frameMillis;
+        buckets[bucketOf(frameMillis)]++;
+        next = (next + 1) % frames.length;
+    }
+
+    /**
+     * Forgets every recorded frame.
+     */
+    public void clear() {
+        Arrays.fill(buckets, 0);
+        next = 0;
+        count = 0;
+        totalMillis = 0;
+    }
+
+    /**
+     * Returns the number of frames per second over the recorded frames.
+     *
+     * @return The frame rate, or 0 if no frame has been recorded.
+     */
+    public double getFps() {
+        return totalMillis > 0 ? count * 1000 / totalMillis : 0;
+    }
+
+    /**
+     * Returns the frame duration below which the specified fraction of the recorded frames lie,
+     * to the precision of a histogram bucket.
+     *
+     * @param fraction The fraction of the frames, for example 0.99 for the 99th percentile.
+     * @return The upper edge of the bucket of the percentile in milliseconds, or 0 if no frame has been recorded.
+     */
+    public double getPercentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * count);
+        int seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= rank) {
+                return (bucket + 1) * BUCKET_MILLIS;
+            }
+        }
+        return BUCKET_COUNT * BUCKET_MILLIS;
+    }
+
+    /**
+     * Returns the longest recorded frame.
+     *
+     * @return The duration of the longest frame in milliseconds.
+     */
+    public double getMax() {
+        double max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, frames[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of recorded frames whose duration lies in the specified range.
+     *
+     * @param fromMillis The shortest duration counted, inclusive.
+     * @param toMillis   The longest duration counted, exclusive.
+     * @return The number of frames in the range.
+     */
+    public int countBetween(double fromMillis, double toMillis) {
+        int total = 0;
+        int last = Math.min(BUCKET_COUNT, (int) Math.ceil(toMillis / BUCKET_MILLIS));
+        for (int bucket = bucketOf(fromMillis); bucket < last; bucket++) {
+            total += buckets[bucket];
+        }
+        return total;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the histogram bucket of the specified duration.
+     *
+     * @param millis The duration in milliseconds.
+     * @return The bucket index.
+     */
+    private static int bucketOf(double millis) {
+        return Math.min(BUCKET_COUNT - 1, Math.max(0, (int) (millis / BUCKET_MILLIS)));
+    }
+}
@@ -0,0 +1,218 @@
+import javafx.animation.AnimationTimer;
+
+import java.util.function.LongConsumer;
+
+/**
+ * The GameLoop class drives the whole game from a single AnimationTimer.
+ * The simulation advances in fixed steps regardless of the frame rate, and the view is rendered once per pulse
+ * with the fraction of the step that has elapsed so that movement stays smooth between steps.
+ * Pausing, slowing down and stepping the game are all controlled from here.
+ */
+public class GameLoop {
+
+    /**
+     * The duration of a single simulation step in milliseconds.
+     */
+    public static final double STEP_MILLIS = 1000.0 / 120;
+
+    /**
+     * The longest frame that is simulated in full. Longer stalls are clamped so the game does not try to catch up.
+     */
+    private static final double MAX_FRAME_MILLIS = 250;
+
+    /**
+     * The Simulation interface is implemented by whatever the game loop currently runs.
+     */
+    public interface Simulation {
+
+        /**
+         * Advances the simulation by one fixed step.
+         *
+         * @param stepMillis The duration of the step in milliseconds.
+         */
+        void step(double stepMillis);
+
+        /**
+         * Updates the view between the previous and the current step.
+         *
+         * @param alpha The elapsed fraction of the current step, in the range [0, 1].
+         */
+        void render(double alpha);
+    }
+
+    private static AnimationTimer timer;
+    private static Simulation simulation;
+    private static LongConsumer stepListener;
+    private static long stepCount = 0;
+    private static double timeScale = 1;
+    private static boolean paused = false;
+    private static double accumulatorMillis = 0;
+    private static long lastPulseNanos = -1;
+
+    /**
+     * How far the rendered view is behind the latest step, in simulation milliseconds.
+     */
+    private static double renderedLagMillis = 0;
+
+    /**
+     * Starts running the specified simulation, replacing the one that was running before.
+     *
+     * @param newSimulation The simulation to run.
+     */
+    public static void start(Simulation newSimulation) {
+        simulation = newSimulation;
+        accumulatorMillis = 0;
+        lastPulseNanos = -1;
+        renderedLagMillis = 0;
+        simulation.render(0);
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    DiagnosticsOverlay.pulseStarted();
+                    pulse(now);
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Stops the game loop and releases the running simulation.
+     */
+    public static void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+        simulation = null;
+    }
+
+    /**
+     * Returns whether the game loop is running a simulation.
+     *
+     * @return true if a simulation is running.
+     */
+    public static boolean isRunning() {
+        return simulation != null;
+    }
+
+    /**
+     * Returns the number of simulation steps taken since the game started. The count keeps growing across levels.
+     *
+     * @return The number of steps taken.
+     */
+    public static long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Returns how far the view on screen is behind the latest simulation step. The view interpolates between
+     * the previous and the latest step, so what the player sees, and aims at, is this much older than the
+     * simulation state; input is resolved against the state of that time.
+     *
+     * @return The lag of the rendered view in simulation milliseconds, from 0 to {@link #STEP_MILLIS}.
+     */
+    public static double getRenderedLagMillis() {
+        return renderedLagMillis;
+    }
+
+    /**
+     * Overrides the lag of the rendered view until the next frame is rendered, so that replayed input is resolved
+     * exactly as it was when it was recorded.
+     *
+     * @param lagMillis The lag in simulation milliseconds.
+     */
+    public static void setRenderedLagMillis(double lagMillis) {
+        renderedLagMillis = lagMillis;
+    }
+
+    /**
+     * Sets the listener that is called right before every simulation step with the number of steps taken so far.
+     *
+     * @param listener The step listener, or null for none.
+     */
+    public static void setStepListener(LongConsumer listener) {
+        stepListener = listener;
+    }
+
+    /**
+     * Pauses or resumes the simulation. The view keeps being rendered while the game is paused.
+     *
+     * @param pause Whether the simulation should be paused.
+     */
+    public static void setPaused(boolean pause) {
+        paused = pause;
+        accumulatorMillis = 0;
+    }
+
+    /**
+     * Returns whether the simulation is currently paused.
+     *
+     * @return true if the simulation is paused.
+     */
+    public static boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Sets the speed of the game relative to real time, for example 0.5 for slow motion.
+     *
+     * @param scale The time scale, must not be negative.
+     */
+    public static void setTimeScale(double scale) {
+        timeScale = Math.max(0, scale);
+    }
+
+    /**
+     * Advances a paused simulation by exactly one step and renders it.
+     */
+    public static void stepOnce() {
+        if (simulation != null && paused) {
+            step();
+            renderedLagMillis = 0;
+            simulation.render(1);
+        }
+    }
+
+    /**
+     * Runs as many fixed steps as the elapsed time allows and renders the interpolated state.
+     *
+     * @param now The timestamp of the current pulse in nanoseconds.
+     */
+    private static void pulse(long now) {
+        if (simulation == null) {
+            return;
+        }
+        if (lastPulseNanos < 0) {
+            lastPulseNanos = now;
+        }
+        double frameMillis = Math.min((now - lastPulseNanos) / 1e6, MAX_FRAME_MILLIS);
+        lastPulseNanos = now;
+
+        if (!paused) {
+            accumulatorMillis += frameMillis * timeScale;
+            while (accumulatorMillis >= STEP_MILLIS && simulation != null) {
+                step();
+                accumulatorMillis -= STEP_MILLIS;
+            }
+        }
+        if (simulation != null) {
+            renderedLagMillis = paused ? 0 : STEP_MILLIS - accumulatorMillis;
+            simulation.render(paused ? 1 : accumulatorMillis / STEP_MILLIS);
+        }
+    }
+
+    /**
+     * Takes a single simulation step, telling the step listener first.
+     * The listener may replace or stop the simulation, in which case the step goes to the new one or is skipped.
+     */
+    private static void step() {
+        if (stepListener != null) {
+            stepListener.accept(stepCount);
+        }
+        if (simulation != null) {
+            simulation.step(STEP_MILLIS);
+            stepCount++;
+        }
+    }
+}
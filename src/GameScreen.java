@@ -0,0 +1,300 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Cursor;
+import javafx.scene.Group;
+import javafx.scene.ImageCursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
+import javafx.stage.Stage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The GameScreen class holds the single Scene the whole game is shown in. The scene is built once,
+ * with a fixed stack of layers: background, ducks, effects, foreground, HUD and crosshair, with the
+ * {@link DiagnosticsOverlay} on top of them all.
+ * The title screen, the background selection screen and the levels only swap the content of these layers,
+ * so moving from one screen to another does not rebuild the scene graph.
+ * The layers are laid out in sprite pixels and scaled to the window by a single transform on the playfield that
+ * holds them, keeping the aspect ratio and filling the rest of the window with black bars. Images are shown
+ * pre-scaled by {@link SpriteCache#getScaled}, so no texture is resampled while the game renders.
+ */
+public class GameScreen {
+    private static Scene scene;
+    private static final ImageView backgroundLayer = new ImageView();
+    private static final Group duckLayer = new Group();
+    private static final ImageView foregroundLayer = new ImageView();
+    private static final Group hudLayer = new Group();
+    private static final ImageView crosshairLayer = new ImageView();
+    private static final Group playfield = new Group();
+    private static final Scale playfieldScale = new Scale(1, 1, 0, 0);
+    private static boolean crosshairFollowsMouse = false;
+
+    /**
+     * The hardware cursors made from the crosshair images for the current scale of the playfield, keyed by the image.
+     */
+    private static final Map<Image, ImageCursor> crosshairCursors = new HashMap<>();
+    private static int crosshairCursorFactor = 0;
+
+    /**
+     * The crosshair image shown as the hardware cursor, or null while the cursor is not a crosshair.
+     */
+    private static Image crosshairCursorImage;
+
+    /**
+     * Returns the scene of the game, building it and its layers on first use.
+     *
+     * @return The scene of the game.
+     */
+    public static Scene getScene() {
+        if (scene == null) {
+            backgroundLayer.setFitWidth(DuckHunt.SCREEN_WIDTH);
+            backgroundLayer.setFitHeight(DuckHunt.SCREEN_HEIGHT);
+            backgroundLayer.setSmooth(false);
+            foregroundLayer.setSmooth(false);
+            crosshairLayer.setSmooth(false);
+            crosshairLayer.setMouseTransparent(true);
+            crosshairLayer.setVisible(false);
+
+            playfield.getChildren().setAll(backgroundLayer, duckLayer, EffectLayer.getNode(), foregroundLayer, hudLayer, crosshairLayer, DiagnosticsOverlay.getNode());
+            playfield.getTransforms().setAll(playfieldScale);
+            playfield.setClip(new Rectangle(DuckHunt.SCREEN_WIDTH, DuckHunt.SCREEN_HEIGHT));
+            scene = new Scene(new Group(playfield), DuckHunt.SCREEN_WIDTH * DuckHunt.scale, DuckHunt.SCREEN_HEIGHT * DuckHunt.scale, Color.BLACK);
+            scene.widthProperty().addListener(observable -> fitPlayfield());
+            scene.heightProperty().addListener(observable -> fitPlayfield());
+            fitPlayfield();
+            DiagnosticsOverlay.attach(scene);
+            scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+                if (event.getCode() == KeyCode.F3) {
+                    DiagnosticsOverlay.toggle();
+                    event.consume();
+                }
+            });
+            scene.addEventFilter(MouseEvent.MOUSE_PRESSED, event -> DiagnosticsOverlay.mousePressed());
+            scene.setOnMouseMoved(event -> {
+                if (crosshairFollowsMouse) {
+                    DiagnosticsOverlay.crosshairMoved();
+                    crosshairLayer.setX(toGameX(event.getSceneX()) - crosshairLayer.getFitWidth() / 2);
+                    crosshairLayer.setY(toGameY(event.getSceneY()) - crosshairLayer.getFitHeight() / 2);
+                }
+            });
+            scene.setOnMouseExited(event -> {
+                if (crosshairFollowsMouse) {
+                    crosshairLayer.setVisible(false);
+                }
+            });
+            scene.setOnMouseEntered(event -> {
+                if (crosshairFollowsMouse) {
+                    crosshairLayer.setVisible(true);
+                }
+            });
+        }
+        return scene;
+    }
+
+    /**
+     * Scales the playfield to the largest size that fits the window without changing its aspect ratio,
+     * and centres it between black bars.
+     */
+    private static void fitPlayfield() {
+        double factor = Math.min(scene.getWidth() / DuckHunt.SCREEN_WIDTH, scene.getHeight() / DuckHunt.SCREEN_HEIGHT);
+        playfieldScale.setX(factor);
+        playfieldScale.setY(factor);
+        playfield.setTranslateX((scene.getWidth() - DuckHunt.SCREEN_WIDTH * factor) / 2);
+        playfield.setTranslateY((scene.getHeight() - DuckHunt.SCREEN_HEIGHT * factor) / 2);
+        if (crosshairCursorImage != null) {
+            // The hardware cursor is not part of the playfield, so it has to be rebuilt for the new size
+            scene.setCursor(getCrosshairCursor(crosshairCursorImage));
+        }
+    }
+
+    /**
+     * Converts an X coordinate of the scene, such as the position of a mouse event, into sprite pixels.
+     *
+     * @param sceneX The X coordinate in the scene.
+     * @return The X coordinate on the playfield.
+     */
+    public static double toGameX(double sceneX) {
+        return (sceneX - playfield.getTranslateX()) / playfieldScale.getX();
+    }
+
+    /**
+     * Converts a Y coordinate of the scene, such as the position of a mouse event, into sprite pixels.
+     *
+     * @param sceneY The Y coordinate in the scene.
+     * @return The Y coordinate on the playfield.
+     */
+    public static double toGameY(double sceneY) {
+        return (sceneY - playfield.getTranslateY()) / playfieldScale.getY();
+    }
+
+    /**
+     * Converts an X coordinate on the playfield into the scene.
+     *
+     * @param gameX The X coordinate in sprite pixels.
+     * @return The X coordinate in the scene.
+     */
+    public static double toSceneX(double gameX) {
+        return playfield.getTranslateX() + gameX * playfieldScale.getX();
+    }
+
+    /**
+     * Converts a Y coordinate on the playfield into the scene.
+     *
+     * @param gameY The Y coordinate in sprite pixels.
+     * @return The Y coordinate in the scene.
+     */
+    public static double toSceneY(double gameY) {
+        return playfield.getTranslateY() + gameY * playfieldScale.getY();
+    }
+
+    /**
+     * Shows the scene of the game on the specified stage, unless it is already shown there.
+     *
+     * @param primaryStage The primary stage of the game.
+     */
+    public static void show(Stage primaryStage) {
+        if (primaryStage.getScene() != getScene()) {
+            primaryStage.setScene(scene);
+        }
+        primaryStage.show();
+    }
+
+    /**
+     * Sets the full-screen image behind everything else.
+     *
+     * @param image The background image.
+     */
+    public static void setBackground(Image image) {
+        backgroundLayer.setImage(SpriteCache.getScaled(image));
+    }
+
+    /**
+     * Sets the full-screen image in front of the ducks, or removes it.
+     * Only the part of the image that holds visible pixels is shown; see {@link SpriteCache#getOpaqueBounds}.
+     *
+     * @param image The foreground image, or null for no foreground.
+     */
+    public static void setForeground(Image image) {
+        Rectangle2D bounds = image == null ? null : SpriteCache.getOpaqueBounds(image);
+        if (bounds == null) {
+            foregroundLayer.setImage(null);
+            return;
+        }
+        // Only the visible part of the foreground is drawn, so the transparent sky above it costs nothing per frame
+        foregroundLayer.setImage(SpriteCache.getScaled(image));
+        foregroundLayer.setViewport(new Rectangle2D(bounds.getMinX() * DuckHunt.scale, bounds.getMinY() * DuckHunt.scale,
+                bounds.getWidth() * DuckHunt.scale, bounds.getHeight() * DuckHunt.scale));
+        foregroundLayer.setX(bounds.getMinX());
+        foregroundLayer.setY(bounds.getMinY());
+        foregroundLayer.setFitWidth(bounds.getWidth());
+        foregroundLayer.setFitHeight(bounds.getHeight());
+    }
+
+    /**
+     * Replaces the content of the duck layer.
+     *
+     * @param ducks The node that shows the ducks, or null to empty the layer and remove the effects above it.
+     */
+    public static void setDucks(Node ducks) {
+        if (ducks == null) {
+            duckLayer.getChildren().clear();
+            EffectLayer.clear();
+        } else {
+            duckLayer.getChildren().setAll(ducks);
+        }
+    }
+
+    /**
+     * Replaces the content of the HUD layer.
+     *
+     * @param nodes The texts and controls to show above the playfield.
+     */
+    public static void setHud(Node... nodes) {
+        hudLayer.getChildren().setAll(nodes);
+    }
+
+    /**
+     * Adds a node to the HUD layer, on top of its current content.
+     *
+     * @param node The node to add.
+     */
+    public static void addToHud(Node node) {
+        hudLayer.getChildren().add(node);
+    }
+
+    /**
+     * Removes a node from the HUD layer.
+     *
+     * @param node The node to remove.
+     */
+    public static void removeFromHud(Node node) {
+        hudLayer.getChildren().remove(node);
+    }
+
+    /**
+     * Shows the crosshair in the middle of the screen.
+     * A crosshair that follows the mouse also replaces the system cursor. With {@link DuckHunt#hardwareCursor}
+     * it becomes the system cursor instead, so that it is drawn by the operating system without waiting for a pulse.
+     *
+     * @param image       The crosshair image.
+     * @param followMouse Whether the crosshair moves with the mouse.
+     */
+    public static void showCrosshair(Image image, boolean followMouse) {
+        if (followMouse && DuckHunt.hardwareCursor) {
+            crosshairLayer.setVisible(false);
+            crosshairFollowsMouse = false;
+            crosshairCursorImage = image;
+            getScene().setCursor(getCrosshairCursor(image));
+            return;
+        }
+        crosshairCursorImage = null;
+        crosshairLayer.setImage(SpriteCache.getScaled(image));
+        crosshairLayer.setFitWidth(image.getWidth());
+        crosshairLayer.setFitHeight(image.getHeight());
+        crosshairLayer.setX(DuckHunt.SCREEN_WIDTH / 2 - crosshairLayer.getFitWidth() / 2);
+        crosshairLayer.setY(DuckHunt.SCREEN_HEIGHT / 2 - crosshairLayer.getFitHeight() / 2);
+        crosshairLayer.setVisible(true);
+        crosshairFollowsMouse = followMouse;
+        getScene().setCursor(followMouse ? Cursor.NONE : Cursor.DEFAULT);
+    }
+
+    /**
+     * Returns the hardware cursor made from a crosshair image at the current scale of the playfield,
+     * creating it on first use. The cursor is made from a copy of the image enlarged by the scale of the playfield,
+     * rounded to a whole factor, and the hot spot is placed in its middle. The cursors are made again
+     * whenever the window is resized to another factor.
+     *
+     * @param image The crosshair image.
+     * @return The cursor.
+     */
+    private static ImageCursor getCrosshairCursor(Image image) {
+        int factor = Math.max(1, (int) Math.round(playfieldScale.getX()));
+        if (factor != crosshairCursorFactor) {
+            crosshairCursors.clear();
+            crosshairCursorFactor = factor;
+        }
+        return crosshairCursors.computeIfAbsent(image, key -> {
+            Image scaled = SpriteCache.getScaled(image, factor);
+            return new ImageCursor(scaled, scaled.getWidth() / 2, scaled.getHeight() / 2);
+        });
+    }
+
+    /**
+     * Hides the crosshair and brings back the system cursor.
+     */
+    public static void hideCrosshair() {
+        crosshairCursorImage = null;
+        crosshairLayer.setVisible(false);
+        crosshairFollowsMouse = false;
+        getScene().setCursor(Cursor.DEFAULT);
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * The HitMask class records which pixels of a sprite are opaque, one bit per pixel packed into longs.
+ * The masks of all duck frames are built once, in the same four orientations as the {@link SpriteAtlas},
+ * so that a shot can be tested against the visible duck without reading any pixels.
+ * Masks are built from plain ARGB arrays so that the simulation does not depend on JavaFX;
+ * the {@link DuckMaskLoader} builds the duck masks from the decoded sprites.
+ */
+public class HitMask {
+
+    /**
+     * The smallest alpha value of a pixel that can be hit.
+     */
+    private static final int ALPHA_THRESHOLD = 128;
+
+    private static volatile HitMask[] duckMasks;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    /**
+     * Builds the mask of a sprite from its pixels, mirroring it if requested.
+     *
+     * @param argb    The ARGB pixels of the sprite, row by row.
+     * @param width   The width of the sprite.
+     * @param height  The height of the sprite.
+     * @param mirrorX Whether to mirror the mask horizontally.
+     * @param mirrorY Whether to mirror the mask vertically.
+     */
+    public HitMask(int[] argb, int width, int height, boolean mirrorX, boolean mirrorY) {
+        this.width = width;
+        this.height = height;
+        wordsPerRow = (width + 63) >>> 6;
+        bits = new long[wordsPerRow * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int sourceX = mirrorX ? width - 1 - x : x;
+                int sourceY = mirrorY ? height - 1 - y : y;
+                if (argb[sourceY * width + sourceX] >>> 24 >= ALPHA_THRESHOLD) {
+                    bits[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the masks of every duck sprite, indexed by {@link DuckSpec#getSpriteIndex}.
+     *
+     * @param masks The masks of the duck sprites.
+     */
+    public static void setDuckMasks(HitMask[] masks) {
+        duckMasks = masks;
+    }
+
+    /**
+     * Returns whether the masks of the duck sprites have been set.
+     *
+     * @return true if the duck masks are available.
+     */
+    public static boolean hasDuckMasks() {
+        return duckMasks != null;
+    }
+
+    /**
+     * Returns the mask of the specified duck frame in the specified orientation.
+     *
+     * @param colourIndex The index of the duck colour in {@link DuckSpec#COLOURS}.
+     * @param frame       The frame number, from 1 to 8.
+     * @param facingX     The horizontal facing of the duck, -1 for mirrored.
+     * @param facingY     The vertical facing of the duck, -1 for mirrored.
+     * @return The mask of the frame, or null if the duck masks have not been set.
+     */
+    public static HitMask getDuckMask(int colourIndex, int frame, double facingX, double facingY) {
+        HitMask[] masks = duckMasks;
+        return masks == null ? null : masks[DuckSpec.getSpriteIndex(colourIndex, frame, facingX, facingY)];
+    }
+
+    /**
+     * Returns whether the pixel at the specified position is opaque enough to be hit.
+     *
+     * @param x The X position of the pixel, relative to the top-left corner of the sprite.
+     * @param y The Y position of the pixel, relative to the top-left corner of the sprite.
+     * @return true if the pixel lies within the sprite and is opaque.
+     */
+    public boolean isOpaque(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
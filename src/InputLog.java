@@ -0,0 +1,307 @@
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The InputLog class defines the compact binary format that player input is recorded in.
+ * The log starts with a header naming the first level, whether it is a wave of the endless mode, and the chosen
+ * background and crosshair, followed by one
+ * record per event. Every record stores its type, the nanoseconds and the game loop steps since the previous record,
+ * and its payload, all as variable-length integers. Pointer positions are stored in eighths of a sprite pixel as the
+ * zig-zag encoded difference from the previous position, so that a mouse move usually takes about eight bytes.
+ * A mouse press also stores how far the view was behind the simulation, so that the shot is resolved against
+ * exactly the same duck positions when it is replayed.
+ */
+public class InputLog {
+
+    /**
+     * The mouse moved to a new position.
+     */
+    public static final int MOVE = 1;
+
+    /**
+     * A mouse button was pressed at a position.
+     */
+    public static final int PRESS = 2;
+
+    /**
+     * A key was pressed.
+     */
+    public static final int KEY = 3;
+
+    private static final int MAGIC = 0x44484C47;
+    private static final int VERSION = 4;
+
+    /**
+     * The number of steps a pixel is divided into when pointer positions are stored.
+     */
+    private static final double POSITION_STEPS = 8;
+
+    /**
+     * The number of steps a millisecond is divided into when the lag of the view is stored.
+     */
+    private static final double LAG_STEPS = 1000;
+
+    /**
+     * The Event class is a single recorded event.
+     */
+    public static class Event {
+        private final int type;
+        private final long nanos;
+        private final long step;
+        private final double x;
+        private final double y;
+        private final int code;
+        private final double lagMillis;
+
+        /**
+         * Constructs an Event.
+         *
+         * @param type      The type of the event: {@link #MOVE}, {@link #PRESS} or {@link #KEY}.
+         * @param nanos     The time of the event in nanoseconds since the recording started.
+         * @param step      The number of game loop steps taken since the recording started.
+         * @param x         The X coordinate of the pointer in sprite pixels.
+         * @param y         The Y coordinate of the pointer in sprite pixels.
+         * @param code      The key code of a key event, or the mouse button of a press.
+         * @param lagMillis How far the view was behind the simulation at a press, in simulation milliseconds.
+         */
+        public Event(int type, long nanos, long step, double x, double y, int code, double lagMillis) {
+            this.type = type;
+            this.nanos = nanos;
+            this.step = step;
+            this.x = x;
+            this.y = y;
+            this.code = code;
+            this.lagMillis = lagMillis;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getStep() {
+            return step;
+        }
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public double getLagMillis() {
+            return lagMillis;
+        }
+    }
+
+    /**
+     * The Writer class appends events to a log.
+     */
+    public static class Writer implements Closeable {
+        private final DataOutputStream out;
+        private long lastNanos = 0;
+        private long lastStep = 0;
+        private long lastX = 0;
+        private long lastY = 0;
+
+        /**
+         * Constructs a Writer and writes the header of the log.
+         *
+         * @param out        The stream to write to.
+         * @param level      The number of the level the recording starts in.
+         * @param endless    Whether the level is a wave of the endless mode.
+         * @param background The index of the chosen background.
+         * @param crosshair  The index of the chosen crosshair.
+         * @throws IOException If the header could not be written.
+         */
+        public Writer(OutputStream out, int level, boolean endless, int background, int crosshair) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.writeInt(MAGIC);
+            writeVarLong(this.out, VERSION);
+            writeVarLong(this.out, level);
+            writeVarLong(this.out, endless ? 1 : 0);
+            writeVarLong(this.out, background);
+            writeVarLong(this.out, crosshair);
+        }
+
+        /**
+         * Appends an event to the log. Events must be written in the order they happened.
+         *
+         * @param event The event to write.
+         * @throws IOException If the event could not be written.
+         */
+        public void write(Event event) throws IOException {
+            out.writeByte(event.getType());
+            writeVarLong(out, event.getNanos() - lastNanos);
+            writeVarLong(out, event.getStep() - lastStep);
+            lastNanos = event.getNanos();
+            lastStep = event.getStep();
+            if (event.getType() == KEY) {
+                writeVarLong(out, event.getCode());
+                return;
+            }
+            long x = Math.round(event.getX() * POSITION_STEPS);
+            long y = Math.round(event.getY() * POSITION_STEPS);
+            writeVarLong(out, zigZag(x - lastX));
+            writeVarLong(out, zigZag(y - lastY));
+            lastX = x;
+            lastY = y;
+            if (event.getType() == PRESS) {
+                writeVarLong(out, event.getCode());
+                writeVarLong(out, Math.max(0, Math.round(event.getLagMillis() * LAG_STEPS)));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * The Reader class reads the events of a log back in the order they were written.
+     */
+    public static class Reader implements Closeable {
+        private final DataInputStream in;
+        private final int level;
+        private final boolean endless;
+        private final int background;
+        private final int crosshair;
+        private long lastNanos = 0;
+        private long lastStep = 0;
+        private long lastX = 0;
+        private long lastY = 0;
+
+        /**
+         * Constructs a Reader and reads the header of the log.
+         *
+         * @param in The stream to read from.
+         * @throws IOException If the stream does not hold an input log.
+         */
+        public Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+            if (this.in.readInt() != MAGIC || readVarLong(this.in) != VERSION) {
+                throw new IOException("Not an input log of this version");
+            }
+            level = (int) readVarLong(this.in);
+            endless = readVarLong(this.in) != 0;
+            background = (int) readVarLong(this.in);
+            crosshair = (int) readVarLong(this.in);
+        }
+
+        /**
+         * Reads the next event of the log.
+         *
+         * @return The next event, or null at the end of the log.
+         * @throws IOException If the log could not be read.
+         */
+        public Event next() throws IOException {
+            int type = in.read();
+            if (type < 0) {
+                return null;
+            }
+            lastNanos += readVarLong(in);
+            lastStep += readVarLong(in);
+            if (type == KEY) {
+                return new Event(type, lastNanos, lastStep, lastX / POSITION_STEPS, lastY / POSITION_STEPS, (int) readVarLong(in), 0);
+            }
+            lastX += unZigZag(readVarLong(in));
+            lastY += unZigZag(readVarLong(in));
+            int code = type == PRESS ? (int) readVarLong(in) : 0;
+            double lagMillis = type == PRESS ? readVarLong(in) / LAG_STEPS : 0;
+            return new Event(type, lastNanos, lastStep, lastX / POSITION_STEPS, lastY / POSITION_STEPS, code, lagMillis);
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public boolean isEndless() {
+            return endless;
+        }
+
+        public int getBackground() {
+            return background;
+        }
+
+        public int getCrosshair() {
+            return crosshair;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes a non-negative number seven bits at a time, lowest bits first, with the high bit marking that more follow.
+     *
+     * @param out   The stream to write to.
+     * @param value The number to write.
+     * @throws IOException If the number could not be written.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a number written by {@link #writeVarLong}.
+     *
+     * @param in The stream to read from.
+     * @return The number.
+     * @throws IOException If the number could not be read.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Input log ends in the middle of a record");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in input log");
+    }
+
+    /**
+     * Maps a signed number to a non-negative one so that small negative numbers stay small.
+     *
+     * @param value The signed number.
+     * @return The zig-zag encoded number.
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigZag}.
+     *
+     * @param value The zig-zag encoded number.
+     * @return The signed number.
+     */
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
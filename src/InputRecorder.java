@@ -0,0 +1,112 @@
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The InputRecorder class records every mouse move, mouse press and key press of the player into an {@link InputLog},
+ * from the moment the first level starts until the player goes back to the title screen, which ends the session.
+ * Each event is stamped with its time in nanoseconds and with the number
+ * of game loop steps taken, which is what lets the {@link InputReplayer} play the session back exactly.
+ * Recording is enabled with the --record=FILE command line argument.
+ */
+public class InputRecorder {
+    private static final Logger LOGGER = Logger.getLogger(InputRecorder.class.getName());
+
+    private static String path;
+    private static InputLog.Writer writer;
+    private static long startNanos;
+    private static long startStep;
+    private static final EventHandler<MouseEvent> moveFilter = event ->
+            record(InputLog.MOVE, GameScreen.toGameX(event.getSceneX()), GameScreen.toGameY(event.getSceneY()), 0);
+    private static final EventHandler<MouseEvent> pressFilter = event ->
+            record(InputLog.PRESS, GameScreen.toGameX(event.getSceneX()), GameScreen.toGameY(event.getSceneY()),
+                    event.getButton().ordinal());
+    private static final EventHandler<KeyEvent> keyFilter = event -> record(InputLog.KEY, 0, 0, event.getCode().getCode());
+
+    /**
+     * Sets the file the session is recorded into once the first level starts.
+     *
+     * @param recordPath The path of the log file, or null to record nothing.
+     */
+    public static void setPath(String recordPath) {
+        path = recordPath;
+    }
+
+    /**
+     * Starts recording when the first level of the session starts. Later levels are part of the same recording,
+     * until {@link #stop()} ends it.
+     *
+     * @param level   The number of the level that starts.
+     * @param endless Whether the level is a wave of the endless mode.
+     */
+    public static void levelStarted(int level, boolean endless) {
+        if (path == null || writer != null) {
+            return;
+        }
+        try {
+            writer = new InputLog.Writer(new BufferedOutputStream(new FileOutputStream(path)),
+                    level, endless, BackgroundManager.currentBackgroundIndex, BackgroundManager.currentCrosshairIndex);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not start recording input to " + path, e);
+            path = null;
+            return;
+        }
+        startNanos = System.nanoTime();
+        startStep = GameLoop.getStepCount();
+
+        Scene scene = GameScreen.getScene();
+        scene.addEventFilter(MouseEvent.MOUSE_MOVED, moveFilter);
+        scene.addEventFilter(MouseEvent.MOUSE_PRESSED, pressFilter);
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, keyFilter);
+    }
+
+    /**
+     * Finishes the recording and closes the log file. This happens when the level hands control back to the title
+     * screen, since the game loop stops stepping there and the replay could not follow, or when the game is closed.
+     * Nothing more is recorded afterwards, so the log holds exactly one session.
+     */
+    public static void stop() {
+        if (writer == null) {
+            return;
+        }
+        Scene scene = GameScreen.getScene();
+        scene.removeEventFilter(MouseEvent.MOUSE_MOVED, moveFilter);
+        scene.removeEventFilter(MouseEvent.MOUSE_PRESSED, pressFilter);
+        scene.removeEventFilter(KeyEvent.KEY_PRESSED, keyFilter);
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not finish the input recording", e);
+        }
+        writer = null;
+        path = null;
+    }
+
+    /**
+     * Appends an event to the recording, stamped with the current time and step count and the lag of the view.
+     *
+     * @param type The type of the event.
+     * @param x    The X coordinate of the pointer in sprite pixels.
+     * @param y    The Y coordinate of the pointer in sprite pixels.
+     * @param code The key code or mouse button of the event.
+     */
+    private static void record(int type, double x, double y, int code) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(new InputLog.Event(type, System.nanoTime() - startNanos, GameLoop.getStepCount() - startStep, x, y, code,
+                    GameLoop.getRenderedLagMillis()));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not record input, recording stopped", e);
+            stop();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.input.InputEvent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The InputReplayer class plays a session recorded by the {@link InputRecorder} back into the game.
+ * It starts the recorded level with the recorded background and crosshair, and fires every recorded event
+ * into the game scene right before the same game loop step it originally arrived at. Since the simulation
+ * advances in fixed steps, the replay hits the same ducks at the same moments however fast the machine renders.
+ * While the replay runs, the real mouse and keyboard are shut out, so that the player cannot add shots or keys
+ * that the recording does not have; they are given back once the log is exhausted.
+ * A recorded session ends when it goes back to the title screen, and so does the replay.
+ * Replaying is enabled with the --replay=FILE command line argument.
+ */
+public class InputReplayer {
+    private static InputLog.Reader reader;
+    private static InputLog.Event pending;
+    private static long startStep;
+
+    /**
+     * Whether a recorded event is being fired, as opposed to the player causing one.
+     */
+    private static boolean firing;
+
+    /**
+     * Consumes every input event that the replay has not fired itself.
+     */
+    private static final EventHandler<InputEvent> realInputFilter = event -> {
+        if (!firing) {
+            event.consume();
+        }
+    };
+
+    /**
+     * Starts replaying the specified log, skipping the title and background selection screens.
+     *
+     * @param primaryStage The primary stage of the game.
+     * @param path         The path of the log file.
+     */
+    public static void start(Stage primaryStage, String path) {
+        try {
+            reader = new InputLog.Reader(new BufferedInputStream(new FileInputStream(path)));
+            pending = reader.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the input log " + path, e);
+        }
+        BackgroundManager.currentBackgroundIndex = reader.getBackground();
+        BackgroundManager.currentCrosshairIndex = reader.getCrosshair();
+        BackgroundManager.changeScreenShown = true;
+        DuckHunt.loadSoundEffects();
+
+        startStep = GameLoop.getStepCount();
+        GameLoop.setStepListener(InputReplayer::dispatch);
+        new Level(reader.getLevel(), reader.isEndless()).start(primaryStage);
+        GameScreen.getScene().addEventFilter(InputEvent.ANY, realInputFilter);
+    }
+
+    /**
+     * Fires every recorded event that arrived before the upcoming step.
+     *
+     * @param stepCount The number of steps taken so far.
+     */
+    private static void dispatch(long stepCount) {
+        try {
+            while (pending != null && pending.getStep() <= stepCount - startStep) {
+                firing = true;
+                try {
+                    fire(pending);
+                } finally {
+                    firing = false;
+                }
+                // The event may have ended the session and stopped the replay
+                pending = reader != null ? reader.next() : null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the input log", e);
+        }
+        if (pending == null) {
+            stop();
+        }
+    }
+
+    /**
+     * Stops replaying and closes the log, once the log is exhausted or the session has gone back to the title screen,
+     * where the game loop no longer steps.
+     */
+    public static void stop() {
+        if (reader == null) {
+            return;
+        }
+        GameLoop.setStepListener(null);
+        GameScreen.getScene().removeEventFilter(InputEvent.ANY, realInputFilter);
+        InputLog.Reader finished = reader;
+        reader = null;
+        pending = null;
+        try {
+            finished.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the input log", e);
+        }
+    }
+
+    /**
+     * Fires a recorded event into the game scene, as if the player had just caused it.
+     *
+     * @param event The recorded event.
+     */
+    private static void fire(InputLog.Event event) {
+        Scene scene = GameScreen.getScene();
+        // The log holds playfield positions; the window may be scaled differently than when it was recorded
+        double x = GameScreen.toSceneX(event.getX());
+        double y = GameScreen.toSceneY(event.getY());
+        switch (event.getType()) {
+            case InputLog.MOVE:
+                Event.fireEvent(scene, new MouseEvent(MouseEvent.MOUSE_MOVED, x, y, x, y, MouseButton.NONE, 0,
+                        false, false, false, false, false, false, false, false, false, false, null));
+                break;
+            case InputLog.PRESS:
+                MouseButton button = MouseButton.values()[event.getCode()];
+                GameLoop.setRenderedLagMillis(event.getLagMillis());
+                Event.fireEvent(scene, new MouseEvent(MouseEvent.MOUSE_PRESSED, x, y, x, y, button, 1,
+                        false, false, false, false, button == MouseButton.PRIMARY, button == MouseButton.MIDDLE,
+                        button == MouseButton.SECONDARY, false, false, true, null));
+                break;
+            case InputLog.KEY:
+                KeyCode code = toKeyCode(event.getCode());
+                if (code != null) {
+                    Event.fireEvent(scene, new KeyEvent(KeyEvent.KEY_PRESSED, "", "", code, false, false, false, false));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the key whose key code is the specified one.
+     *
+     * @param keyCode The numeric key code.
+     * @return The key, or null if there is no such key.
+     */
+    private static KeyCode toKeyCode(int keyCode) {
+        for (KeyCode code : KeyCode.values()) {
+            if (code.getCode() == keyCode) {
+                return code;
+            }
+        }
+        return null;
+    }
+}
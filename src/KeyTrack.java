@@ -0,0 +1,98 @@
+import java.util.Arrays;
+
+/**
+ * The KeyTrack class holds the key values of a single animated quantity, such as the horizontal offset
+ * or the facing of a duck, and evaluates it at any point in time.
+ * Continuous tracks interpolate linearly between their keys; discrete tracks hold each value until the next key.
+ */
+public class KeyTrack {
+    private double[] times = {0};
+    private double[] values;
+    private final boolean discrete;
+
+    /**
+     * Constructs a KeyTrack whose value at time zero is the specified start value.
+     *
+     * @param startValue The value of the track before any other key is reached.
+     * @param discrete   Whether the track jumps between its values instead of interpolating them.
+     */
+    public KeyTrack(double startValue, boolean discrete) {
+        this.values = new double[]{startValue};
+        this.discrete = discrete;
+    }
+
+    /**
+     * Adds a key to the track. A key at time zero replaces the start value of the track.
+     *
+     * @param timeMillis The time of the key in milliseconds.
+     * @param value      The value of the track at that time.
+     */
+    public void add(double timeMillis, double value) {
+        int index = Arrays.binarySearch(times, timeMillis);
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        int insertion = -index - 1;
+        times = insert(times, insertion, timeMillis);
+        values = insert(values, insertion, value);
+    }
+
+    /**
+     * Evaluates the track at the specified time. Times after the last key hold the last value.
+     *
+     * @param timeMillis The time in milliseconds.
+     * @return The value of the track at that time.
+     */
+    public double valueAt(double timeMillis) {
+        int last = times.length - 1;
+        if (timeMillis >= times[last]) {
+            return values[last];
+        }
+        int index = Arrays.binarySearch(times, timeMillis);
+        if (index >= 0) {
+            return values[index];
+        }
+        int next = -index - 1;
+        int previous = next - 1;
+        if (discrete) {
+            return values[previous];
+        }
+        double fraction = (timeMillis - times[previous]) / (times[next] - times[previous]);
+        return values[previous] + (values[next] - values[previous]) * fraction;
+    }
+
+    /**
+     * Returns the time of the last key of the track.
+     *
+     * @return The time of the last key in milliseconds.
+     */
+    public double getLastKeyTime() {
+        return times[times.length - 1];
+    }
+
+    /**
+     * Returns the times of the keys of the track.
+     *
+     * @return A copy of the sorted key times in milliseconds.
+     */
+    public double[] getKeyTimes() {
+        return times.clone();
+    }
+
+    /**
+     * Returns a copy of the array with the value inserted at the specified index.
+     *
+     * @param array The sorted array.
+     * @param index The index at which the value is inserted.
+     * @param value The value to insert.
+     * @return The new array.
+     */
+    private static double[] insert(double[] array, int index, double value) {
+        double[] result = new double[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+}
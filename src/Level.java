@@ -1,152 +1,209 @@
-import javafx.animation.FadeTransition;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.scene.Cursor;
-import javafx.scene.Group;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import javafx.scene.text.Text;
-import javafx.util.Duration;
+import javafx.scene.input.KeyCode;
+import javafx.stage.Stage;
 
 /**
- * The Level class represents common properties shared by all levels.
+ * The Level class is the engine that plays every level of the game.
+ * What a level contains is read from its {@link LevelSpec}: the ducks, their colours and trajectories,
+ * the ammo and the level that comes next. The rules of the level are played by a {@link LevelSimulation},
+ * which the {@link GameLoop} advances; this class is the JavaFX view on top of it, showing the ducks and texts
+ * and playing the sounds for what happens in the simulation.
  */
-public class Level {
-    Text gameOverText = new Text("GAME OVER!");
-    Text winText = new Text("YOU WIN!");
-    Text nextLevelText = new Text("Press ENTER to play next level");
-    Text playAgainText = new Text("Press ENTER to play again\n       Press ESC to exit");
-    Text completedGameText = new Text("You have completed the game!");
+public class Level implements GameLoop.Simulation, LevelSimulation.Listener {
+    private final LevelSpec spec;
 
     /**
-     * Constructs a Level object.
-     * Initializes the game over text, win text, next level text,
-     * completed game text, and play again text with their respective font, color, and positions.
+     * The rules and ducks of the level, advanced by the game loop.
      */
-    public Level() {
-        gameOverText.setFont(Font.font("Arial", FontWeight.BOLD, 16 * DuckHunt.SCALE));
-        gameOverText.setFill(Color.ORANGE);
-        gameOverText.setX((DuckHunt.SCREEN_WIDTH - gameOverText.getLayoutBounds().getWidth()) / 2);
-        gameOverText.setY((DuckHunt.SCREEN_HEIGHT + gameOverText.getLayoutBounds().getHeight()) / 2 - 18 * DuckHunt.SCALE);
-        gameOverText.setVisible(false);
-
-        winText.setFont(Font.font("Arial", FontWeight.BOLD, 16 * DuckHunt.SCALE));
-        winText.setFill(Color.ORANGE);
-        winText.setX((DuckHunt.SCREEN_WIDTH - winText.getLayoutBounds().getWidth()) / 2);
-        winText.setY((DuckHunt.SCREEN_HEIGHT + winText.getLayoutBounds().getHeight()) / 2 - 8 * DuckHunt.SCALE);
-        winText.setVisible(false);
-
-        nextLevelText.setFont(Font.font("Arial", FontWeight.BOLD, 16 * DuckHunt.SCALE));
-        nextLevelText.setFill(Color.ORANGE);
-        nextLevelText.setX((DuckHunt.SCREEN_WIDTH - nextLevelText.getLayoutBounds().getWidth()) / 2); // Ekran ortasında konumlandırma
-        nextLevelText.setY((DuckHunt.SCREEN_HEIGHT + nextLevelText.getLayoutBounds().getHeight()) / 2 + 8 * DuckHunt.SCALE); // Ekran ortasında konumlandırma
-        nextLevelText.setVisible(false);
-
-        completedGameText.setFont(Font.font("Arial", FontWeight.BOLD, 16 * DuckHunt.SCALE));
-        completedGameText.setFill(Color.ORANGE);
-        completedGameText.setX((DuckHunt.SCREEN_WIDTH - completedGameText.getLayoutBounds().getWidth()) / 2);
-        completedGameText.setY((DuckHunt.SCREEN_HEIGHT + completedGameText.getLayoutBounds().getHeight()) / 2 - 18 * DuckHunt.SCALE);
-        completedGameText.setVisible(false);
-
-        playAgainText.setFont(Font.font("Arial", FontWeight.BOLD, 16 * DuckHunt.SCALE));
-        playAgainText.setFill(Color.ORANGE);
-        playAgainText.setX((DuckHunt.SCREEN_WIDTH - playAgainText.getLayoutBounds().getWidth()) / 2);
-        playAgainText.setY((DuckHunt.SCREEN_HEIGHT + playAgainText.getLayoutBounds().getHeight()) / 2 - 8 * DuckHunt.SCALE);
-        playAgainText.setVisible(false);
+    private LevelSimulation simulation;
+    private DuckRenderer duckRenderer;
+
+    /**
+     * Whether the renderer of the ducks draws the effects too, which the canvas renderer does.
+     */
+    private boolean effectsOnCanvas;
+
+    /**
+     * The number of ducks above which they are drawn on a canvas even if one node per duck was asked for.
+     */
+    public static final int MAX_NODE_RENDERED_DUCKS = 64;
+
+    /**
+     * Constructs the specified campaign level.
+     *
+     * @param number The number of the level, from 1 to {@link Levels#COUNT}.
+     */
+    public Level(int number) {
+        this(number, false);
     }
 
     /**
-     * Sets the crosshair for the game scene.
-     * @param root The root group of the scene.
-     * @param gameScene The game scene.
+     * Constructs the specified campaign level or wave of the endless mode.
+     *
+     * @param number  The number of the level or wave.
+     * @param endless Whether to play a wave of the endless mode instead of a campaign level.
      */
-    public static void setCursor(Group root, Scene gameScene) {
-        ImageView cursorImageView = new ImageView(new Image(BackgroundManager.crosshairImages[BackgroundManager.currentCrosshairIndex]));
-        cursorImageView.setFitWidth(cursorImageView.getLayoutBounds().getWidth() * DuckHunt.SCALE);
-        cursorImageView.setFitHeight(cursorImageView.getLayoutBounds().getHeight() * DuckHunt.SCALE);
-        cursorImageView.setLayoutX(DuckHunt.SCREEN_WIDTH / 2 - cursorImageView.getLayoutBounds().getWidth() / 2);
-        cursorImageView.setLayoutY(DuckHunt.SCREEN_HEIGHT / 2 - cursorImageView.getLayoutBounds().getHeight() / 2);
-        root.getChildren().add(cursorImageView);
+    public Level(int number, boolean endless) {
+        this(endless
+                ? WaveGenerator.create(number, DuckHunt.SCREEN_WIDTH, SpriteCache.get("assets/duck_black/4.png").getWidth())
+                : Levels.create(number, DuckHunt.SCREEN_WIDTH, SpriteCache.get("assets/duck_black/4.png").getWidth()));
+    }
 
-        gameScene.setOnMouseExited(event -> cursorImageView.setVisible(false));
+    /**
+     * Constructs a Level object that plays the specified level.
+     * The texts shown over the level are shared by all levels; see {@link LevelOverlay}.
+     *
+     * @param spec The specification of the level.
+     */
+    public Level(LevelSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Starts the level by filling the layers of the game scene with its background, ducks, foreground and texts,
+     * and setting event handlers for mouse presses and key presses.
+     *
+     * @param primaryStage the primary stage of the Duck Hunt.
+     */
+    public void start(Stage primaryStage) {
+        // Create the ducks and let the game loop animate them
+        simulation = new LevelSimulation(spec, DuckHunt.SCREEN_WIDTH, DuckHunt.SCREEN_HEIGHT,
+                duckSpec -> SpriteCache.get(duckSpec.getFramePath(duckSpec.getFirstFrame())).getWidth(),
+                duckSpec -> SpriteCache.get(duckSpec.getFramePath(duckSpec.getFirstFrame())).getHeight());
+        simulation.setListener(this);
+        for (DuckSpec duckSpec : spec.getDucks()) {
+            // Decode the death frames up front so that the first hit does not decode them in the click handler
+            SpriteCache.preload(duckSpec.getFramePath(DuckSpec.SHOT_FRAME), duckSpec.getFramePath(DuckSpec.FALL_FRAME));
+        }
+        DuckMaskLoader.load();
+        EffectLayer.clear();
+        DuckStore ducks = simulation.getDucks();
+        duckRenderer = DuckHunt.canvasRendering || ducks.getCount() > MAX_NODE_RENDERED_DUCKS
+                ? new CanvasDuckRenderer(ducks) : new NodeDuckRenderer(ducks);
+        effectsOnCanvas = duckRenderer instanceof CanvasDuckRenderer;
 
-        gameScene.setOnMouseEntered(event -> cursorImageView.setVisible(true));
+        // Swap the content of the level into the layers of the game scene, stopping the animations of the last screen
+        AnimationScope.enter("level " + spec.getNumber());
+        showLayers();
+        GameScreen.show(primaryStage);
+        InputRecorder.levelStarted(spec.getNumber(), spec.isEndless());
+        GameLoop.start(this);
 
-        gameScene.setCursor(Cursor.NONE);
-        gameScene.setOnMouseMoved(event -> {
-            cursorImageView.setLayoutX(event.getSceneX() - cursorImageView.getFitWidth() / 2);
-            cursorImageView.setLayoutY(event.getSceneY() - cursorImageView.getFitHeight() / 2);
-        });
+        Scene gameScene = GameScreen.getScene();
+        // Shoot as soon as the button goes down, at the ducks as they were drawn when it did
+        gameScene.setOnMousePressed(event ->
+                simulation.shoot(GameScreen.toGameX(event.getSceneX()), GameScreen.toGameY(event.getSceneY()), GameLoop.getRenderedLagMillis()));
+        gameScene.setOnKeyPressed(event -> handleKey(event.getCode(), primaryStage));
     }
 
     /**
-     * Shows the all texts which has fade-in animation.
-     * @param text The Text object to be shown.
+     * Shows the level in the layers of the game scene: the background, the ducks between the background
+     * and the foreground, the level text, ammo text, and various game-related texts, and the crosshair.
      */
-    public static void showText(Text text) {
-        text.setVisible(true);
-        FadeTransition fadeTransition = new FadeTransition(Duration.millis(1000), text);
-        fadeTransition.setFromValue(0);
-        fadeTransition.setToValue(1);
-        fadeTransition.play();
+    private void showLayers() {
+        LevelOverlay.reset(spec.getNumber(), spec.isEndless(), spec.getAmmo());
+        GameScreen.setBackground(SpriteCache.get(BackgroundManager.backgroundImages[BackgroundManager.currentBackgroundIndex]));
+        GameScreen.setDucks(duckRenderer.getNode());
+        GameScreen.setForeground(SpriteCache.get(BackgroundManager.foregroundImages[BackgroundManager.currentBackgroundIndex]));
+        GameScreen.setHud(LevelOverlay.getNodes());
+        GameScreen.showCrosshair(SpriteCache.get(BackgroundManager.crosshairImages[BackgroundManager.currentCrosshairIndex]), true);
+    }
+
+    public LevelSimulation getSimulation() {
+        return simulation;
+    }
+
+    @Override
+    public void shotFired() {
+        DuckHunt.gunShotMusic.play();
+    }
+
+    @Override
+    public void duckShot(int duck) {
+        DuckHunt.duckFallsMusic.play();
+        EffectLayer.spawnFeathers(simulation.getDucks(), duck);
+    }
+
+    @Override
+    public void ammoChanged(int ammo) {
+        LevelOverlay.setAmmo(ammo);
+    }
+
+    @Override
+    public void levelWon() {
+        LevelOverlay.showWin();
+        DuckHunt.levelCompletedMusic.play();
+    }
+
+    @Override
+    public void gameCompleted() {
+        LevelOverlay.showGameCompleted();
+        DuckHunt.gameCompletedMusic.play();
+    }
+
+    @Override
+    public void gameOver() {
+        LevelOverlay.showGameOver();
+        DuckHunt.gameOverMusic.play();
     }
 
     /**
-     * Shows the all texts which has flashing animation.
-     * @param text The Text object to be shown.
+     * Handles the key presses at the end of the level: playing again from the first level,
+     * going back to the title screen or moving on to the next level.
+     *
+     * @param code         The code of the pressed key.
+     * @param primaryStage The primary stage of the Duck Hunt.
      */
-    public static void showFlashText(Text text) {
-        text.setVisible(true);
-        Timeline flashingAnimationTimeline = new Timeline(
-                new KeyFrame(Duration.millis(500), new KeyValue(text.opacityProperty(), 0.0)),
-                new KeyFrame(Duration.millis(1000), new KeyValue(text.opacityProperty(), 1.0))
-        );
-        flashingAnimationTimeline.setCycleCount(Timeline.INDEFINITE);
-        flashingAnimationTimeline.setAutoReverse(true);
-        flashingAnimationTimeline.play();
+    private void handleKey(KeyCode code, Stage primaryStage) {
+        if (code == KeyCode.ENTER && simulation.isGameOver()) {
+            stopEndMusic();
+            Level firstLevel = new Level(1, spec.isEndless());
+            firstLevel.start(primaryStage);
+        } else if (code == KeyCode.ESCAPE && simulation.isGameOver()) {
+            stopEndMusic();
+            BackgroundManager.changeScreenShown = false;
+            GameLoop.stop();
+            // Going back to the title ends the session that is being recorded or replayed
+            InputRecorder.stop();
+            InputReplayer.stop();
+            DuckHunt.showTitle(primaryStage);
+        } else if (code == KeyCode.ENTER && simulation.isWon()) {
+            stopEndMusic();
+            Level nextLevel = new Level(spec.getNextLevel(), spec.isEndless());
+            nextLevel.start(primaryStage);
+        }
     }
 
     /**
-     * Generates a Text object displaying the level information.
-     * @param level The level number.
-     * @return The generated Text object.
+     * Stops the music that is played at the end of a level.
      */
-    public static Text getLevelText(int level) {
-        Text levelText = new Text("Level " + level + "/6");
-        levelText.setFont(Font.font("Arial", FontWeight.BOLD, 10 * DuckHunt.SCALE));
-        levelText.setFill(Color.ORANGE);
-        levelText.setX(DuckHunt.SCREEN_WIDTH / 2 - levelText.getLayoutBounds().getWidth() / 2);
-        levelText.setY(levelText.getLayoutBounds().getHeight());
-        return levelText;
+    private static void stopEndMusic() {
+        DuckHunt.levelCompletedMusic.stop();
+        DuckHunt.gameCompletedMusic.stop();
+        DuckHunt.gameOverMusic.stop();
     }
 
     /**
-     * Generates a Text object displaying the AMMO information.
-     * @param ammoText The ammo number.
-     * @return The generated Text object.
+     * Advances every duck and effect of the level by one simulation step.
+     *
+     * @param stepMillis The duration of the step in milliseconds.
      */
-    public static void ammoTextSetting(Text ammoText) {
-        ammoText.setFont(Font.font("Arial", FontWeight.BOLD, 10 * DuckHunt.SCALE));
-        ammoText.setFill(Color.ORANGE);
-        ammoText.setX(DuckHunt.SCREEN_WIDTH - 64 * DuckHunt.SCALE); // Sağ üst köşede konumlandırma
-        ammoText.setY(ammoText.getLayoutBounds().getHeight());
+    @Override
+    public void step(double stepMillis) {
+        simulation.step(stepMillis);
+        EffectLayer.step(stepMillis);
     }
 
     /**
-     * Configures the properties of the duck ImageView.
-     * @param initialX The initial X position of the duck.
-     * @param initialY The initial Y position of the duck.
-     * @param duckImageView The ImageView of the duck.
+     * Renders every duck of the level at its interpolated position, and the effects where they are.
+     *
+     * @param alpha The elapsed fraction of the current simulation step.
      */
-    public static void configureDuckImageView(double initialX, double initialY, ImageView duckImageView) {
-        duckImageView.setLayoutX(initialX);
-        duckImageView.setLayoutY(initialY);
-        duckImageView.setFitWidth(duckImageView.getLayoutBounds().getWidth() * DuckHunt.SCALE);
-        duckImageView.setFitHeight(duckImageView.getLayoutBounds().getHeight() * DuckHunt.SCALE);
+    @Override
+    public void render(double alpha) {
+        duckRenderer.render(alpha);
+        if (!effectsOnCanvas) {
+            EffectLayer.render();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+import javafx.animation.FadeTransition;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+
+/**
+ * The LevelOverlay class holds the texts shown over a level: the level and ammo indicators and the
+ * texts that appear when the level is won, the game is completed or the game is over.
+ * The texts and their animations are created, styled and measured once, the first time a level is shown,
+ * and every later level only changes which of them are visible and what the indicators say.
+ * The animations are played in the {@link AnimationScope} of the level that shows them.
+ */
+public class LevelOverlay {
+    private static Text levelText;
+    private static Text ammoText;
+    private static Text gameOverText;
+    private static Text winText;
+    private static Text nextLevelText;
+    private static Text playAgainText;
+    private static Text completedGameText;
+    private static Node[] nodes;
+
+    private static FadeTransition gameOverFade;
+    private static FadeTransition winFade;
+    private static FadeTransition completedGameFade;
+    private static Timeline nextLevelFlash;
+    private static Timeline playAgainFlash;
+
+    /**
+     * The level the level text shows, negative for a wave of the endless mode.
+     */
+    private static int shownLevel = 0;
+    private static int shownAmmo = -1;
+
+    /**
+     * Returns the texts of the overlay, creating them on first use, in the order they are placed in the HUD layer.
+     *
+     * @return The nodes of the overlay.
+     */
+    public static Node[] getNodes() {
+        if (nodes == null) {
+            createTexts();
+        }
+        return nodes;
+    }
+
+    /**
+     * Prepares the overlay for the start of a level: hides the end-of-level texts and shows the number of the level
+     * and its ammo. Their animations have been stopped by leaving the {@link AnimationScope} of the previous level.
+     *
+     * @param level   The number of the level or wave.
+     * @param endless Whether the level is a wave of the endless mode.
+     * @param ammo    The ammo the level starts with.
+     */
+    public static void reset(int level, boolean endless, int ammo) {
+        getNodes();
+        for (Text text : new Text[]{gameOverText, winText, nextLevelText, playAgainText, completedGameText}) {
+            text.setVisible(false);
+            text.setOpacity(1);
+        }
+        int shown = endless ? -level : level;
+        if (shown != shownLevel) {
+            levelText.setText(endless ? "Wave " + level : "Level " + level + "/" + Levels.COUNT);
+            shownLevel = shown;
+        }
+        setAmmo(ammo);
+    }
+
+    /**
+     * Shows the ammo left. The text is only changed when the number does.
+     *
+     * @param ammo The ammo left.
+     */
+    public static void setAmmo(int ammo) {
+        if (ammo != shownAmmo) {
+            ammoText.setText("Ammo Left: " + ammo);
+            shownAmmo = ammo;
+        }
+    }
+
+    /**
+     * Shows the texts of a won level.
+     */
+    public static void showWin() {
+        showText(winText, winFade);
+        showFlashText(nextLevelText, nextLevelFlash);
+    }
+
+    /**
+     * Shows the texts of a completed game.
+     */
+    public static void showGameCompleted() {
+        showText(completedGameText, completedGameFade);
+        showFlashText(playAgainText, playAgainFlash);
+    }
+
+    /**
+     * Shows the texts of a lost game.
+     */
+    public static void showGameOver() {
+        showText(gameOverText, gameOverFade);
+        showFlashText(playAgainText, playAgainFlash);
+    }
+
+    /**
+     * Shows a text with its fade-in animation.
+     *
+     * @param text The Text object to be shown.
+     * @param fade The fade-in animation of the text.
+     */
+    private static void showText(Text text, FadeTransition fade) {
+        text.setVisible(true);
+        AnimationScope.current().play(fade);
+    }
+
+    /**
+     * Shows a text with its flashing animation.
+     *
+     * @param text  The Text object to be shown.
+     * @param flash The flashing animation of the text.
+     */
+    private static void showFlashText(Text text, Timeline flash) {
+        text.setVisible(true);
+        AnimationScope.current().play(flash);
+    }
+
+    /**
+     * Creates the texts of the overlay with their font, colour and position, and their animations.
+     * The end-of-level texts are centred by measuring them here, once; the level text is centred by
+     * its alignment so that a new level number does not need measuring again.
+     */
+    private static void createTexts() {
+        levelText = createText("Level " + Levels.COUNT + "/" + Levels.COUNT, 10);
+        levelText.setWrappingWidth(DuckHunt.SCREEN_WIDTH);
+        levelText.setTextAlignment(TextAlignment.CENTER);
+        levelText.setY(levelText.getLayoutBounds().getHeight());
+
+        ammoText = createText("Ammo Left: 0", 10);
+        ammoText.setX(DuckHunt.SCREEN_WIDTH - 64); // Sağ üst köşede konumlandırma
+        ammoText.setY(ammoText.getLayoutBounds().getHeight());
+
+        gameOverText = createCentredText("GAME OVER!", -18);
+        winText = createCentredText("YOU WIN!", -8);
+        nextLevelText = createCentredText("Press ENTER to play next level", 8);
+        playAgainText = createCentredText("Press ENTER to play again\n       Press ESC to exit", -8);
+        completedGameText = createCentredText("You have completed the game!", -18);
+
+        gameOverFade = createFade(gameOverText);
+        winFade = createFade(winText);
+        completedGameFade = createFade(completedGameText);
+        nextLevelFlash = createFlash(nextLevelText);
+        playAgainFlash = createFlash(playAgainText);
+
+        nodes = new Node[]{levelText, ammoText, winText, nextLevelText, gameOverText, playAgainText, completedGameText};
+    }
+
+    /**
+     * Creates an orange text in the bold Arial font of the game.
+     *
+     * @param content The content of the text.
+     * @param size    The font size in sprite pixels.
+     * @return The text.
+     */
+    private static Text createText(String content, double size) {
+        Text text = new Text(content);
+        text.setFont(Font.font("Arial", FontWeight.BOLD, size));
+        text.setFill(Color.ORANGE);
+        return text;
+    }
+
+    /**
+     * Creates a hidden end-of-level text in the middle of the screen.
+     *
+     * @param content The content of the text.
+     * @param offsetY How far the text is moved down from the middle of the screen, in sprite pixels.
+     * @return The text.
+     */
+    private static Text createCentredText(String content, double offsetY) {
+        Text text = createText(content, 16);
+        text.setX((DuckHunt.SCREEN_WIDTH - text.getLayoutBounds().getWidth()) / 2);
+        text.setY((DuckHunt.SCREEN_HEIGHT + text.getLayoutBounds().getHeight()) / 2 + offsetY);
+        text.setVisible(false);
+        return text;
+    }
+
+    /**
+     * Creates the fade-in animation of a text.
+     *
+     * @param text The text to fade in.
+     * @return The animation.
+     */
+    private static FadeTransition createFade(Text text) {
+        FadeTransition fadeTransition = AnimationTracker.track(new FadeTransition(Duration.millis(1000), text));
+        fadeTransition.setFromValue(0);
+        fadeTransition.setToValue(1);
+        return fadeTransition;
+    }
+
+    /**
+     * Creates the flashing animation of a text.
+     *
+     * @param text The text to flash.
+     * @return The animation.
+     */
+    private static Timeline createFlash(Text text) {
+        Timeline flashingAnimationTimeline = AnimationTracker.track(new Timeline(
+                new KeyFrame(Duration.millis(500), new KeyValue(text.opacityProperty(), 0.0)),
+                new KeyFrame(Duration.millis(1000), new KeyValue(text.opacityProperty(), 1.0))
+        ));
+        flashingAnimationTimeline.setCycleCount(Timeline.INDEFINITE);
+        flashingAnimationTimeline.setAutoReverse(true);
+        return flashingAnimationTimeline;
+    }
+}
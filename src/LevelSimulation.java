@@ -0,0 +1,270 @@
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The LevelSimulation class holds the rules of a level without any JavaFX: the ducks and their motion,
+ * the ammo, hit-testing and the checks for a win or a game over. It only moves when it is stepped,
+ * so the game can run it on its frame clock while tests and benchmarks run it on a virtual clock,
+ * as fast as the machine allows. What happens in the level is reported to a {@link Listener}.
+ * The ducks are kept in a {@link DuckStore} and are referred to by their index in it.
+ * All coordinates are in sprite pixels.
+ */
+public class LevelSimulation {
+
+    /**
+     * The Listener interface is implemented by whatever shows the level, such as the JavaFX {@link Level}.
+     * Every method does nothing by default.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a shot is fired, before any duck is hit.
+         */
+        default void shotFired() {
+        }
+
+        /**
+         * Called for every duck hit by a shot.
+         *
+         * @param duck The index of the duck that was hit in the {@link DuckStore} of the level.
+         */
+        default void duckShot(int duck) {
+        }
+
+        /**
+         * Called when the number of shells left changes.
+         *
+         * @param ammo The number of shells left.
+         */
+        default void ammoChanged(int ammo) {
+        }
+
+        /**
+         * Called when every duck of a level that is not the last one has been shot.
+         */
+        default void levelWon() {
+        }
+
+        /**
+         * Called when every duck of the last level has been shot.
+         */
+        default void gameCompleted() {
+        }
+
+        /**
+         * Called when the last shell is fired while some ducks are still flying.
+         */
+        default void gameOver() {
+        }
+    }
+
+    private static final Listener NO_LISTENER = new Listener() {
+    };
+
+    private final LevelSpec spec;
+    private final DuckStore ducks;
+
+    /**
+     * The grid that finds the flying ducks under a shot, kept up to date after every step.
+     */
+    private final SpatialGrid duckGrid;
+    private final int[] shotCandidates;
+    private Listener listener = NO_LISTENER;
+    private double elapsedMillis = 0;
+    private double lastStepMillis = 0;
+
+    /**
+     * The furthest any duck has moved in a single step, along X and Y together. It bounds how far from
+     * its current cell a duck may have been when a shot that is resolved in the past was fired.
+     */
+    private double maxStepDistance = 0;
+    private int ammo;
+    private boolean gameOver = false;
+
+    /**
+     * Constructs a LevelSimulation with every duck at the initial position of its specification.
+     *
+     * @param spec        The specification of the level.
+     * @param width       The width of the playfield.
+     * @param groundY     The height of the playfield, which shot ducks fall down to.
+     * @param duckWidths  Returns the width of the sprite of a duck.
+     * @param duckHeights Returns the height of the sprite of a duck.
+     */
+    public LevelSimulation(LevelSpec spec, double width, double groundY,
+                           ToDoubleFunction<DuckSpec> duckWidths, ToDoubleFunction<DuckSpec> duckHeights) {
+        this.spec = spec;
+        this.ammo = spec.getAmmo();
+        ducks = new DuckStore(spec.getDucks(), duckWidths, duckHeights, groundY);
+        double maxDuckWidth = 1;
+        double maxDuckHeight = 1;
+        for (int i = 0; i < ducks.getCount(); i++) {
+            maxDuckWidth = Math.max(maxDuckWidth, ducks.getWidth(i));
+            maxDuckHeight = Math.max(maxDuckHeight, ducks.getHeight(i));
+        }
+
+        // The cells are as large as the largest duck, so a shot only has to look at a few cells
+        duckGrid = new SpatialGrid(width, groundY, Math.max(maxDuckWidth, maxDuckHeight), ducks.getCount(), maxDuckWidth, maxDuckHeight);
+        shotCandidates = new int[ducks.getCount()];
+        for (int i = 0; i < ducks.getCount(); i++) {
+            duckGrid.update(i, ducks.getX(i), ducks.getY(i));
+        }
+    }
+
+    /**
+     * Sets the listener that is told what happens in the level.
+     *
+     * @param listener The listener, or null for none.
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    /**
+     * Advances every duck of the level by one step.
+     *
+     * @param stepMillis The duration of the step in milliseconds.
+     */
+    public void step(double stepMillis) {
+        elapsedMillis += stepMillis;
+        lastStepMillis = stepMillis;
+        ducks.step(stepMillis);
+        double maxSpeed = 0;
+        for (int i = ducks.nextAlive(0); i >= 0; i = ducks.nextAlive(i + 1)) {
+            duckGrid.update(i, ducks.getX(i), ducks.getY(i));
+            maxSpeed = Math.max(maxSpeed, Math.abs(ducks.getVelocityX(i)) + Math.abs(ducks.getVelocityY(i)));
+        }
+        maxStepDistance = Math.max(maxStepDistance, maxSpeed * stepMillis);
+    }
+
+    /**
+     * Advances the level by the specified time in fixed steps, as a virtual clock.
+     * Time that does not fill a whole step is not simulated.
+     *
+     * @param millis     The time to advance in milliseconds.
+     * @param stepMillis The duration of each step in milliseconds.
+     * @return The number of steps taken.
+     */
+    public int run(double millis, double stepMillis) {
+        int steps = (int) (millis / stepMillis);
+        for (int i = 0; i < steps; i++) {
+            step(stepMillis);
+        }
+        return steps;
+    }
+
+    /**
+     * Fires a shot at the specified point. Every duck under the point is shot down,
+     * then the ammo is decreased and the level is checked for a win or a game over.
+     * Shots are ignored once the level is over.
+     *
+     * @param x The X coordinate of the shot.
+     * @param y The Y coordinate of the shot.
+     * @return The number of ducks hit, or -1 if the shot was ignored.
+     */
+    public int shoot(double x, double y) {
+        return shoot(x, y, 0);
+    }
+
+    /**
+     * Fires a shot at the specified point, tested against where the ducks were the specified time ago.
+     * The view shows the ducks somewhat behind the latest step, so a shot is resolved at the time the player
+     * actually saw; see {@link DuckStore#contains(int, double, double, double)}.
+     *
+     * @param x         The X coordinate of the shot.
+     * @param y         The Y coordinate of the shot.
+     * @param millisAgo How long before the latest step the shot was aimed, in simulation milliseconds.
+     * @return The number of ducks hit, or -1 if the shot was ignored.
+     */
+    public int shoot(double x, double y, double millisAgo) {
+        if (gameOver || ducks.getAliveCount() == 0) {
+            return -1;
+        }
+        listener.shotFired();
+
+        int hits = 0;
+        double stepsAgo = lastStepMillis > 0 ? Math.max(0, millisAgo) / lastStepMillis : 0;
+        int candidateCount = duckGrid.queryRadius(x, y, maxStepDistance * Math.ceil(stepsAgo), shotCandidates);
+        for (int i = 0; i < candidateCount; i++) {
+            int duck = shotCandidates[i];
+            if (ducks.isAlive(duck) && ducks.contains(duck, x, y, stepsAgo)) {
+                ducks.kill(duck);
+                duckGrid.remove(duck);
+                hits++;
+                listener.duckShot(duck);
+            }
+        }
+
+        if (ammo > 0) {
+            ammo--;
+            listener.ammoChanged(ammo);
+        }
+
+        if (ducks.getAliveCount() == 0) {
+            if (spec.isLastLevel()) {
+                gameOver = true;
+                listener.gameCompleted();
+            } else {
+                listener.levelWon();
+            }
+        } else if (ammo == 0) {
+            gameOver = true;
+            listener.gameOver();
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the first flying duck under the specified point without shooting it.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     * @return The index of the duck under the point, or -1 if there is none.
+     */
+    public int findDuckAt(double x, double y) {
+        int candidateCount = duckGrid.queryPoint(x, y, shotCandidates);
+        for (int i = 0; i < candidateCount; i++) {
+            int duck = shotCandidates[i];
+            if (ducks.isAlive(duck) && ducks.contains(duck, x, y)) {
+                return duck;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether every duck of the level has been shot.
+     *
+     * @return true if the level is won.
+     */
+    public boolean isWon() {
+        return ducks.getAliveCount() == 0;
+    }
+
+    /**
+     * Returns whether the game has ended, either by running out of ammo or by completing the last level.
+     *
+     * @return true if the game is over.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public LevelSpec getSpec() {
+        return spec;
+    }
+
+    public DuckStore getDucks() {
+        return ducks;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int getAmmo() {
+        return ammo;
+    }
+
+    public int getAliveDuckCount() {
+        return ducks.getAliveCount();
+    }
+}
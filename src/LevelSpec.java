@@ -0,0 +1,77 @@
+import java.util.List;
+
+/**
+ * The LevelSpec class declares a level of the game: its number, the ammo the player gets,
+ * the ducks that fly in it and the level that follows it. The waves of the endless mode are levels too.
+ */
+public class LevelSpec {
+
+    /**
+     * The value of the next level for the last level of the game.
+     */
+    public static final int NO_NEXT_LEVEL = 0;
+
+    private final int number;
+    private final int ammo;
+    private final List<DuckSpec> ducks;
+    private final int nextLevel;
+    private final boolean endless;
+
+    /**
+     * Constructs a LevelSpec of the campaign.
+     *
+     * @param number    The number of the level shown to the player.
+     * @param ammo      The number of shells the player gets.
+     * @param ducks     The ducks that fly in the level.
+     * @param nextLevel The number of the level that follows, or {@link #NO_NEXT_LEVEL} if this is the last one.
+     */
+    public LevelSpec(int number, int ammo, List<DuckSpec> ducks, int nextLevel) {
+        this(number, ammo, ducks, nextLevel, false);
+    }
+
+    /**
+     * Constructs a LevelSpec.
+     *
+     * @param number    The number of the level shown to the player.
+     * @param ammo      The number of shells the player gets.
+     * @param ducks     The ducks that fly in the level.
+     * @param nextLevel The number of the level that follows, or {@link #NO_NEXT_LEVEL} if this is the last one.
+     * @param endless   Whether the level is a wave of the endless mode, made by the {@link WaveGenerator}.
+     */
+    public LevelSpec(int number, int ammo, List<DuckSpec> ducks, int nextLevel, boolean endless) {
+        this.number = number;
+        this.ammo = ammo;
+        this.ducks = List.copyOf(ducks);
+        this.nextLevel = nextLevel;
+        this.endless = endless;
+    }
+
+    /**
+     * Returns whether completing this level completes the game.
+     *
+     * @return true if no level follows this one.
+     */
+    public boolean isLastLevel() {
+        return nextLevel == NO_NEXT_LEVEL;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getAmmo() {
+        return ammo;
+    }
+
+    public List<DuckSpec> getDucks() {
+        return ducks;
+    }
+
+    public int getNextLevel() {
+        return nextLevel;
+    }
+
+    public boolean isEndless() {
+        return endless;
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.List;
+
+/**
+ * The Levels class holds the specifications of the six campaign levels.
+ * All positions are in sprite pixels; the width of the playfield and of a duck are passed in
+ * so that the ducks turn around exactly at the edges of the screen.
+ */
+public class Levels {
+
+    /**
+     * The number of levels in the campaign.
+     */
+    public static final int COUNT = 6;
+
+    /**
+     * Creates the specification of the specified campaign level.
+     *
+     * @param number    The number of the level, from 1 to {@link #COUNT}.
+     * @param width     The width of the playfield in sprite pixels.
+     * @param duckWidth The width of a duck sprite in sprite pixels.
+     * @return The specification of the level.
+     */
+    public static LevelSpec create(int number, double width, double duckWidth) {
+        double rightX = width - duckWidth;
+        switch (number) {
+            case 1:
+                return new LevelSpec(1, 3, List.of(
+                        new DuckSpec("black", DuckSpec.HORIZONTAL_FRAMES, 0, 30, sweep(0, rightX, 1800))
+                ), 2);
+            case 2:
+                return new LevelSpec(2, 3, List.of(
+                        new DuckSpec("blue", DuckSpec.DIAGONAL_FRAMES, 0, 45, zigzag(rightX, 1800))
+                ), 3);
+            case 3:
+                return new LevelSpec(3, 6, List.of(
+                        new DuckSpec("red", DuckSpec.HORIZONTAL_FRAMES, 0, 45, sweep(0, rightX, 1400)),
+                        new DuckSpec("black", DuckSpec.HORIZONTAL_FRAMES, 160, 65, sweep(66, -160, 1400))
+                ), 4);
+            case 4:
+                return new LevelSpec(4, 6, List.of(
+                        new DuckSpec("blue", DuckSpec.DIAGONAL_FRAMES, 0, 45, zigzag(rightX, 1200)),
+                        new DuckSpec("black", DuckSpec.HORIZONTAL_FRAMES, 160, 65, sweep(66, -160, 1400))
+                ), 5);
+            case 5:
+                return new LevelSpec(5, 9, List.of(
+                        new DuckSpec("black", DuckSpec.DIAGONAL_FRAMES, 0, 45, zigzag(rightX, 1200)),
+                        new DuckSpec("red", DuckSpec.HORIZONTAL_FRAMES, 160, 65, sweep(66, -160, 1200)),
+                        new DuckSpec("blue", DuckSpec.HORIZONTAL_FRAMES, 0, 45, sweep(0, rightX, 1000))
+                ), 6);
+            case 6:
+                return new LevelSpec(6, 9, List.of(
+                        new DuckSpec("blue", DuckSpec.DIAGONAL_FRAMES, 0, 45, zigzag(rightX, 1200)),
+                        new DuckSpec("black", DuckSpec.DIAGONAL_FRAMES, 0, 65, new Trajectory()
+                                .moveX(0, width - 33).moveX(1400, 0).moveX(2500, width - 33)
+                                .moveY(700, 180).moveY(1400, 60).moveY(2000, -65).moveY(2500, 45)
+                                .faceX(0, -1).faceX(1401, 1)
+                                .faceY(0, -1).faceY(701, 1).faceY(2001, -1)),
+                        new DuckSpec("red", DuckSpec.HORIZONTAL_FRAMES, 0, 45, sweep(0, rightX, 1000))
+                ), LevelSpec.NO_NEXT_LEVEL);
+            default:
+                throw new IllegalArgumentException("There is no level " + number);
+        }
+    }
+
+    /**
+     * Creates a horizontal sweep from fromX to toX and back. The duck faces the way it flies.
+     *
+     * @param fromX            The horizontal offset at the start of the loop.
+     * @param toX              The horizontal offset at the turning point.
+     * @param halfPeriodMillis The time it takes to fly from fromX to toX.
+     * @return The trajectory of the sweep.
+     */
+    public static Trajectory sweep(double fromX, double toX, double halfPeriodMillis) {
+        double facing = toX >= fromX ? 1 : -1;
+        return new Trajectory()
+                .moveX(0, fromX)
+                .moveX(halfPeriodMillis, toX)
+                .moveX(2 * halfPeriodMillis, fromX)
+                .faceX(0, facing)
+                .faceX(halfPeriodMillis + 1, -facing);
+    }
+
+    /**
+     * Creates a zig-zag that sweeps from the left edge to rightX and back while diving down and climbing up.
+     * The duck faces the way it flies, both horizontally and vertically.
+     *
+     * @param rightX           The horizontal offset at the turning point.
+     * @param halfPeriodMillis The time it takes to fly to the turning point.
+     * @return The trajectory of the zig-zag.
+     */
+    public static Trajectory zigzag(double rightX, double halfPeriodMillis) {
+        double third = halfPeriodMillis / 3;
+        return sweep(0, rightX, halfPeriodMillis)
+                .moveY(2 * third, 180)
+                .moveY(halfPeriodMillis, 60)
+                .moveY(4 * third, -50)
+                .moveY(2 * halfPeriodMillis, 45)
+                .faceY(0, -1)
+                .faceY(2 * third + 1, 1)
+                .faceY(4 * third + 1, -1);
+    }
+}
@@ -0,0 +1,61 @@
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * The NodeDuckRenderer class draws every duck with its own ImageView in the scene graph.
+ * This is the default way of drawing ducks and suits levels with a handful of them.
+ */
+public class NodeDuckRenderer implements DuckRenderer {
+    private final Group group = new Group();
+    private final DuckStore ducks;
+    private final ImageView[] imageViews;
+    private final Image[][] frames = new Image[DuckSpec.COLOURS.length][DuckSpec.FRAME_COUNT + 1];
+
+    /**
+     * Constructs a NodeDuckRenderer and creates an ImageView for each duck.
+     *
+     * @param ducks The ducks of the level.
+     */
+    public NodeDuckRenderer(DuckStore ducks) {
+        this.ducks = ducks;
+        for (int colour = 0; colour < DuckSpec.COLOURS.length; colour++) {
+            for (int frame = 1; frame <= DuckSpec.FRAME_COUNT; frame++) {
+                frames[colour][frame] = SpriteCache.getScaled(DuckSpec.getFramePath(DuckSpec.COLOURS[colour], frame));
+            }
+        }
+        imageViews = new ImageView[ducks.getCount()];
+        for (int i = 0; i < imageViews.length; i++) {
+            imageViews[i] = new ImageView(frames[ducks.getColourIndex(i)][ducks.getFrame(i)]);
+            imageViews[i].setFitWidth(ducks.getWidth(i));
+            imageViews[i].setFitHeight(ducks.getHeight(i));
+            imageViews[i].setSmooth(false);
+        }
+        group.getChildren().addAll(imageViews);
+    }
+
+    @Override
+    public Node getNode() {
+        return group;
+    }
+
+    @Override
+    public void render(double alpha) {
+        for (int i = 0; i < imageViews.length; i++) {
+            ImageView imageView = imageViews[i];
+            if (ducks.isGone(i)) {
+                imageView.setVisible(false);
+                continue;
+            }
+            imageView.setTranslateX(ducks.getRenderX(i, alpha));
+            imageView.setTranslateY(ducks.getRenderY(i, alpha));
+            imageView.setScaleX(ducks.getFacingX(i));
+            imageView.setScaleY(ducks.getFacingY(i));
+            Image frame = frames[ducks.getColourIndex(i)][ducks.getFrame(i)];
+            if (imageView.getImage() != frame) {
+                imageView.setImage(frame);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import javafx.scene.media.AudioClip;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SoundEffect class plays one of the audio assets of the game through a bounded pool of voices.
+ * Each asset is decoded once per process and shared by every effect created for it, and the voices of an
+ * effect overlap instead of cutting each other off, so rapid gunshots and several falling ducks are all heard.
+ * Once every voice is busy, further plays are dropped until the oldest voice has finished.
+ * The pool only estimates when a voice has finished, from the time each play is counted as sounding; it never asks
+ * the clip, so a play that ends early or runs long is not noticed until that time has passed.
+ * The clip shared by the effects of an asset is never changed after it is decoded: each effect passes its own
+ * volume when it plays, and looping effects share a clip of their own.
+ */
+public class SoundEffect {
+
+    /**
+     * The time a looping voice is counted as sounding, long enough to last until the effect is stopped.
+     */
+    private static final long LOOPING_VOICE_NANOS = Long.MAX_VALUE / 2;
+
+    /**
+     * Every audio clip decoded so far that plays once, keyed by its asset path.
+     */
+    private static final Map<String, AudioClip> clips = new ConcurrentHashMap<>();
+
+    /**
+     * Every audio clip decoded so far that repeats until it is stopped, keyed by its asset path.
+     */
+    private static final Map<String, AudioClip> loopingClips = new ConcurrentHashMap<>();
+
+    private final AudioClip clip;
+    private final boolean looping;
+    private final double volume;
+    private final long voiceNanos;
+
+    /**
+     * The times at which the voices of the effect stop sounding, in System.nanoTime() units.
+     */
+    private final long[] voiceEnds;
+
+    /**
+     * Constructs a SoundEffect for the specified asset, decoding the asset if no other effect has done so yet.
+     *
+     * @param path        The resource path of the audio asset.
+     * @param maxVoices   The number of plays of the effect that may sound at the same time.
+     * @param voiceMillis The time a single play is counted as sounding, in milliseconds.
+     * @param looping     Whether the effect repeats until it is stopped.
+     */
+    public SoundEffect(String path, int maxVoices, double voiceMillis, boolean looping) {
+        this.clip = looping ? loopingClips.computeIfAbsent(path, loopingPath -> decode(loopingPath, true))
+                : clips.computeIfAbsent(path, oncePath -> decode(oncePath, false));
+        this.looping = looping;
+        this.volume = DuckHunt.VOLUME;
+        this.voiceNanos = (long) (voiceMillis * 1e6);
+        this.voiceEnds = new long[maxVoices];
+        Arrays.fill(voiceEnds, System.nanoTime());
+    }
+
+    /**
+     * Decodes the audio clip of the specified asset.
+     *
+     * @param path    The resource path of the audio asset.
+     * @param looping Whether the clip repeats until it is stopped.
+     * @return The decoded audio clip.
+     */
+    private static AudioClip decode(String path, boolean looping) {
+        AudioClip clip = new AudioClip(Objects.requireNonNull(DuckHunt.class.getResource(path)).toExternalForm());
+        clip.setCycleCount(looping ? AudioClip.INDEFINITE : 1);
+        return clip;
+    }
+
+    /**
+     * Plays the effect on a free voice, or does nothing if all voices are busy.
+     */
+    public synchronized void play() {
+        long now = System.nanoTime();
+        for (int voice = 0; voice < voiceEnds.length; voice++) {
+            if (voiceEnds[voice] - now <= 0) {
+                voiceEnds[voice] = now + (looping ? LOOPING_VOICE_NANOS : voiceNanos);
+                clip.play(volume);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops every voice of the effect.
+     */
+    public synchronized void stop() {
+        clip.stop();
+        Arrays.fill(voiceEnds, System.nanoTime());
+    }
+
+    /**
+     * Returns whether any voice of the effect is sounding.
+     *
+     * @return true if the effect is playing.
+     */
+    public boolean isPlaying() {
+        return clip.isPlaying();
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.Arrays;
+
+/**
+ * The SpatialGrid class is a uniform grid over the playfield that finds the ducks near a point
+ * without testing every duck. Each entry is filed under the cell of its top-left corner, and queries
+ * widen their search by the largest entry size so that entries spanning several cells are still found.
+ * Cells are intrusive linked lists over primitive arrays, so moving an entry never allocates.
+ */
+public class SpatialGrid {
+    private static final int NONE = -1;
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final double maxEntryWidth;
+    private final double maxEntryHeight;
+    private final int[] cellHead;
+    private final int[] entryCell;
+    private final int[] nextEntry;
+    private final int[] previousEntry;
+
+    /**
+     * Constructs an empty SpatialGrid.
+     *
+     * @param width          The width of the area covered by the grid.
+     * @param height         The height of the area covered by the grid.
+     * @param cellSize       The width and height of a cell.
+     * @param capacity       The number of entries, whose ids run from 0 to capacity - 1.
+     * @param maxEntryWidth  The width of the widest entry.
+     * @param maxEntryHeight The height of the tallest entry.
+     */
+    public SpatialGrid(double width, double height, double cellSize, int capacity, double maxEntryWidth, double maxEntryHeight) {
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.maxEntryWidth = maxEntryWidth;
+        this.maxEntryHeight = maxEntryHeight;
+        cellHead = new int[columns * rows];
+        entryCell = new int[capacity];
+        nextEntry = new int[capacity];
+        previousEntry = new int[capacity];
+        Arrays.fill(cellHead, NONE);
+        Arrays.fill(entryCell, NONE);
+    }
+
+    /**
+     * Inserts the entry or moves it to its new position. Positions outside the grid are filed under the nearest edge cell.
+     *
+     * @param id The id of the entry.
+     * @param x  The X coordinate of the top-left corner of the entry.
+     * @param y  The Y coordinate of the top-left corner of the entry.
+     */
+    public void update(int id, double x, double y) {
+        int cell = cellOf(column(x), row(y));
+        if (entryCell[id] == cell) {
+            return;
+        }
+        remove(id);
+        entryCell[id] = cell;
+        previousEntry[id] = NONE;
+        nextEntry[id] = cellHead[cell];
+        if (cellHead[cell] != NONE) {
+            previousEntry[cellHead[cell]] = id;
+        }
+        cellHead[cell] = id;
+    }
+
+    /**
+     * Removes the entry from the grid. Removing an entry that is not in the grid has no effect.
+     *
+     * @param id The id of the entry.
+     */
+    public void remove(int id) {
+        int cell = entryCell[id];
+        if (cell == NONE) {
+            return;
+        }
+        if (previousEntry[id] != NONE) {
+            nextEntry[previousEntry[id]] = nextEntry[id];
+        } else {
+            cellHead[cell] = nextEntry[id];
+        }
+        if (nextEntry[id] != NONE) {
+            previousEntry[nextEntry[id]] = previousEntry[id];
+        }
+        entryCell[id] = NONE;
+    }
+
+    /**
+     * Collects the entries that may contain the specified point. The caller still has to test each candidate exactly.
+     *
+     * @param x      The X coordinate of the point.
+     * @param y      The Y coordinate of the point.
+     * @param result The array the ids of the candidates are written to, at least as long as the capacity.
+     * @return The number of candidates written to the result.
+     */
+    public int queryPoint(double x, double y, int[] result) {
+        return queryRadius(x, y, 0, result);
+    }
+
+    /**
+     * Collects the entries that may overlap the circle around the specified point.
+     * The caller still has to test each candidate exactly.
+     *
+     * @param x      The X coordinate of the centre of the circle.
+     * @param y      The Y coordinate of the centre of the circle.
+     * @param radius The radius of the circle.
+     * @param result The array the ids of the candidates are written to, at least as long as the capacity.
+     * @return The number of candidates written to the result.
+     */
+    public int queryRadius(double x, double y, double radius, int[] result) {
+        int firstColumn = column(x - radius - maxEntryWidth);
+        int lastColumn = column(x + radius);
+        int firstRow = row(y - radius - maxEntryHeight);
+        int lastRow = row(y + radius);
+        int count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                for (int id = cellHead[cellOf(column, row)]; id != NONE; id = nextEntry[id]) {
+                    result[count++] = id;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the column of the specified X coordinate, clamped to the grid.
+     *
+     * @param x The X coordinate.
+     * @return The column index.
+     */
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor(x / cellSize)));
+    }
+
+    /**
+     * Returns the row of the specified Y coordinate, clamped to the grid.
+     *
+     * @param y The Y coordinate.
+     * @return The row index.
+     */
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor(y / cellSize)));
+    }
+
+    /**
+     * Returns the index of the cell at the specified column and row.
+     *
+     * @param column The column index.
+     * @param row    The row index.
+     * @return The cell index.
+     */
+    private int cellOf(int column, int row) {
+        return row * columns + column;
+    }
+}
@@ -0,0 +1,122 @@
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * The SpriteAtlas class packs every duck frame of every colour into a single image, so that all ducks
+ * can be drawn from the same texture. Each frame is stored four times: as it is, mirrored horizontally,
+ * mirrored vertically and mirrored both ways, which lets the ducks face any direction without transforms.
+ */
+public class SpriteAtlas {
+    private static final int ORIENTATIONS = DuckSpec.ORIENTATIONS;
+    private static final int REGION_COUNT = DuckSpec.SPRITE_COUNT;
+    private static SpriteAtlas duckAtlas;
+
+    private final WritableImage image;
+    private final int[] regionX = new int[REGION_COUNT];
+    private final int[] regionY = new int[REGION_COUNT];
+    private final int[] regionWidth = new int[REGION_COUNT];
+    private final int[] regionHeight = new int[REGION_COUNT];
+
+    /**
+     * Returns the atlas of the duck frames, building it on first use.
+     *
+     * @return The shared duck atlas.
+     */
+    public static synchronized SpriteAtlas getDuckAtlas() {
+        if (duckAtlas == null) {
+            duckAtlas = new SpriteAtlas();
+        }
+        return duckAtlas;
+    }
+
+    /**
+     * Builds the atlas from the decoded duck frames. Each colour and orientation gets a row
+     * and each frame a column of cells as large as the largest frame.
+     */
+    private SpriteAtlas() {
+        Image[][] frames = new Image[DuckSpec.COLOURS.length][DuckSpec.FRAME_COUNT];
+        int cellWidth = 0;
+        int cellHeight = 0;
+        for (int colour = 0; colour < DuckSpec.COLOURS.length; colour++) {
+            for (int frame = 0; frame < DuckSpec.FRAME_COUNT; frame++) {
+                frames[colour][frame] = SpriteCache.get(DuckSpec.getFramePath(DuckSpec.COLOURS[colour], frame + 1));
+                cellWidth = Math.max(cellWidth, (int) frames[colour][frame].getWidth());
+                cellHeight = Math.max(cellHeight, (int) frames[colour][frame].getHeight());
+            }
+        }
+
+        image = new WritableImage(cellWidth * DuckSpec.FRAME_COUNT, cellHeight * DuckSpec.COLOURS.length * ORIENTATIONS);
+        PixelWriter writer = image.getPixelWriter();
+        for (int colour = 0; colour < DuckSpec.COLOURS.length; colour++) {
+            for (int orientation = 0; orientation < ORIENTATIONS; orientation++) {
+                for (int frame = 0; frame < DuckSpec.FRAME_COUNT; frame++) {
+                    Image source = frames[colour][frame];
+                    int region = (colour * ORIENTATIONS + orientation) * DuckSpec.FRAME_COUNT + frame;
+                    regionX[region] = frame * cellWidth;
+                    regionY[region] = (colour * ORIENTATIONS + orientation) * cellHeight;
+                    regionWidth[region] = (int) source.getWidth();
+                    regionHeight[region] = (int) source.getHeight();
+                    copy(source, writer, regionX[region], regionY[region], (orientation & 1) != 0, (orientation & 2) != 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the region of the atlas that holds the specified frame in the specified orientation.
+     *
+     * @param colourIndex The index of the duck colour in {@link DuckSpec#COLOURS}.
+     * @param frame       The frame number, from 1 to 8.
+     * @param facingX     The horizontal facing of the duck, -1 for mirrored.
+     * @param facingY     The vertical facing of the duck, -1 for mirrored.
+     * @return The index of the region.
+     */
+    public static int getRegion(int colourIndex, int frame, double facingX, double facingY) {
+        return DuckSpec.getSpriteIndex(colourIndex, frame, facingX, facingY);
+    }
+
+    /**
+     * Copies an image into the atlas at the specified position, mirroring it if requested.
+     *
+     * @param source  The image to copy.
+     * @param writer  The pixel writer of the atlas.
+     * @param targetX The X position of the copy in the atlas.
+     * @param targetY The Y position of the copy in the atlas.
+     * @param mirrorX Whether to mirror the image horizontally.
+     * @param mirrorY Whether to mirror the image vertically.
+     */
+    private static void copy(Image source, PixelWriter writer, int targetX, int targetY, boolean mirrorX, boolean mirrorY) {
+        PixelReader reader = source.getPixelReader();
+        int width = (int) source.getWidth();
+        int height = (int) source.getHeight();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int sourceX = mirrorX ? width - 1 - x : x;
+                int sourceY = mirrorY ? height - 1 - y : y;
+                writer.setArgb(targetX + x, targetY + y, reader.getArgb(sourceX, sourceY));
+            }
+        }
+    }
+
+    public Image getImage() {
+        return image;
+    }
+
+    public int getRegionX(int region) {
+        return regionX[region];
+    }
+
+    public int getRegionY(int region) {
+        return regionY[region];
+    }
+
+    public int getRegionWidth(int region) {
+        return regionWidth[region];
+    }
+
+    public int getRegionHeight(int region) {
+        return regionHeight[region];
+    }
+}
@@ -0,0 +1,259 @@
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * The SpriteCache class keeps every decoded sprite of the game in memory so that all levels and screens
+ * share the same Image instances instead of decoding the same PNG files again.
+ * Images are keyed by their asset path and evicted in least-recently-used order once the memory budget is exceeded.
+ * It also keeps a copy of each shown image pre-scaled to {@link DuckHunt#scale} with nearest-neighbour sampling,
+ * so that the scaled scene shows sharp pixels without resampling any texture while it renders. The copies are
+ * kept in the same least-recently-used order and count against the same budget as the decoded images.
+ */
+public class SpriteCache {
+
+    /**
+     * The maximum number of bytes the decoded images and their pre-scaled copies may occupy before the least recently
+     * used ones are evicted.
+     */
+    public static final long MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * The decoded images, keyed by their asset path, and the pre-scaled copies, keyed by a {@link ScaledKey}.
+     */
+    private static final Map<Object, Image> images = new LinkedHashMap<>(64, 0.75f, true);
+    private static long usedBytes = 0;
+
+    /**
+     * The smallest rectangles that hold every visible pixel of the images, released together with the image.
+     */
+    private static final Map<Image, Rectangle2D> opaqueBounds = new WeakHashMap<>();
+
+    /**
+     * Returns the image of the specified asset, decoding it only if it is not already in the cache.
+     * The decode itself runs outside the lock so that several threads can preload sprites at the same time.
+     *
+     * @param path The asset path of the image.
+     * @return The shared Image instance for the path.
+     */
+    public static Image get(String path) {
+        synchronized (SpriteCache.class) {
+            Image image = images.get(path);
+            if (image != null) {
+                return image;
+            }
+        }
+        Image decoded = new Image(path);
+        synchronized (SpriteCache.class) {
+            Image image = images.get(path);
+            if (image != null) {
+                return image; // Another thread decoded the same asset in the meantime
+            }
+            images.put(path, decoded);
+            usedBytes += sizeOf(decoded);
+            evict(path);
+            return decoded;
+        }
+    }
+
+    /**
+     * Returns a copy of the specified image enlarged by {@link DuckHunt#scale}, every pixel becoming a square block
+     * of pixels, creating it only if it is not already cached. The copy is shown at the size of the original image
+     * in the scaled scene, so it lands on the screen one texel per pixel.
+     * The copy is made outside the lock, so this may be called from several threads, like {@link #get}.
+     *
+     * @param image The image in sprite pixels.
+     * @return The pre-scaled copy, or the image itself at a scale of 1.
+     */
+    public static Image getScaled(Image image) {
+        return getScaled(image, DuckHunt.scale);
+    }
+
+    /**
+     * Returns a copy of the specified image enlarged by a whole factor, creating it only if it is not already cached.
+     *
+     * @param image  The image in sprite pixels.
+     * @param factor The factor to enlarge it by.
+     * @return The enlarged copy, or the image itself for a factor of 1.
+     */
+    public static Image getScaled(Image image, int factor) {
+        if (factor == 1) {
+            return image;
+        }
+        ScaledKey key = new ScaledKey(image, factor);
+        synchronized (SpriteCache.class) {
+            Image scaled = images.get(key);
+            if (scaled != null) {
+                return scaled;
+            }
+        }
+        Image scaled = scale(image, factor);
+        synchronized (SpriteCache.class) {
+            Image cached = images.get(key);
+            if (cached != null) {
+                return cached; // Another thread scaled the same image in the meantime
+            }
+            images.put(key, scaled);
+            usedBytes += sizeOf(scaled);
+            evict(key);
+            return scaled;
+        }
+    }
+
+    /**
+     * Returns the pre-scaled copy of the image of the specified asset.
+     *
+     * @param path The asset path of the image.
+     * @return The pre-scaled copy.
+     */
+    public static Image getScaled(String path) {
+        return getScaled(get(path));
+    }
+
+    /**
+     * Returns the smallest rectangle that holds every pixel of the specified image that is not fully transparent,
+     * computing it only if it is not already cached. A layer that is mostly transparent, like a foreground,
+     * only needs to draw this part of itself.
+     *
+     * @param image The image in sprite pixels.
+     * @return The bounds of the visible pixels in sprite pixels, or null if the image is fully transparent.
+     */
+    public static Rectangle2D getOpaqueBounds(Image image) {
+        synchronized (SpriteCache.class) {
+            if (opaqueBounds.containsKey(image)) {
+                return opaqueBounds.get(image);
+            }
+        }
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        int minX = width;
+        int minY = height;
+        int maxX = -1;
+        int maxY = -1;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if ((pixels[y * width + x] >>> 24) != 0) {
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                }
+            }
+        }
+        Rectangle2D bounds = maxX < 0 ? null : new Rectangle2D(minX, minY, maxX - minX + 1, maxY - minY + 1);
+        synchronized (SpriteCache.class) {
+            opaqueBounds.put(image, bounds);
+        }
+        return bounds;
+    }
+
+    /**
+     * Enlarges an image by a whole factor with nearest-neighbour sampling.
+     *
+     * @param image  The image to enlarge.
+     * @param factor The factor to enlarge it by.
+     * @return The enlarged image.
+     */
+    private static Image scale(Image image, int factor) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] source = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), source, 0, width);
+        int scaledWidth = width * factor;
+        int[] row = new int[scaledWidth];
+        WritableImage scaled = new WritableImage(scaledWidth, height * factor);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < scaledWidth; x++) {
+                row[x] = source[y * width + x / factor];
+            }
+            for (int repeat = 0; repeat < factor; repeat++) {
+                scaled.getPixelWriter().setPixels(0, y * factor + repeat, scaledWidth, 1,
+                        PixelFormat.getIntArgbInstance(), row, 0, scaledWidth);
+            }
+        }
+        return scaled;
+    }
+
+    /**
+     * Decodes the specified assets ahead of time so that later lookups do not stall the caller.
+     *
+     * @param paths The asset paths of the images.
+     */
+    public static void preload(String... paths) {
+        for (String path : paths) {
+            get(path);
+        }
+    }
+
+    /**
+     * Returns the number of bytes currently occupied by the cached images and their pre-scaled copies.
+     *
+     * @return The estimated size of the cache in bytes.
+     */
+    public static synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Removes the least recently used images until the cache fits in the memory budget again.
+     * The image that has just been inserted is never evicted.
+     *
+     * @param keep The key of the image that has just been inserted.
+     */
+    private static void evict(Object keep) {
+        Iterator<Map.Entry<Object, Image>> iterator = images.entrySet().iterator();
+        while (usedBytes > MEMORY_BUDGET && iterator.hasNext()) {
+            Map.Entry<Object, Image> eldest = iterator.next();
+            if (!eldest.getKey().equals(keep)) {
+                usedBytes -= sizeOf(eldest.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Estimates the memory occupied by a decoded image, assuming four bytes per pixel.
+     *
+     * @param image The decoded image.
+     * @return The estimated size of the image in bytes.
+     */
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    /**
+     * The ScaledKey class is the cache key of a pre-scaled copy: the image it was made from and the factor.
+     */
+    private static final class ScaledKey {
+        private final Image image;
+        private final int factor;
+
+        ScaledKey(Image image, int factor) {
+            this.image = image;
+            this.factor = factor;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ScaledKey)) {
+                return false;
+            }
+            ScaledKey key = (ScaledKey) other;
+            return image == key.image && factor == key.factor;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(image), factor);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.scene.Scene;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * The StressBenchmark class puts the game under a controlled load and reports how it copes, so that new hardware
+ * can be qualified and releases compared. It skips the title and background selection screens and starts a level
+ * with the specified number of ducks of all three colours, sharing the trajectories of the campaign levels
+ * at different points of their loops.
+ * Shots are fired at random points of the playfield at a fixed rate, from a fixed seed, through the same
+ * mouse events a player would cause. After a warm-up, the frames are measured for a fixed duration and
+ * a JSON report of the frame rate, the frame-time percentiles, the garbage collector, the heap and the
+ * size of the scene graph is written, after which the game exits.
+ * Shot ducks are not replaced, so a small crowd can be shot down before the time is up. The benchmark then stops
+ * as soon as the last duck is gone and marks its report as not valid, rather than go on measuring an empty playfield;
+ * the report also gives the fewest ducks that were flying while it measured.
+ * The benchmark is run with the --bench command line argument, together with --bench-ducks=N,
+ * --bench-seconds=S and --bench-report=FILE.
+ */
+public class StressBenchmark {
+    private static final Logger LOGGER = Logger.getLogger(StressBenchmark.class.getName());
+
+    /**
+     * The time the game runs before measuring starts, so that the JIT compiler and the caches have settled.
+     */
+    private static final double WARMUP_MILLIS = 2000;
+
+    /**
+     * The time between two scripted shots.
+     */
+    private static final double SHOT_INTERVAL_MILLIS = 500;
+
+    /**
+     * How often the size of the scene graph is sampled while measuring.
+     */
+    private static final double NODE_SAMPLE_MILLIS = 1000;
+
+    /**
+     * The seed of the duck placement and the shots, fixed so that every run is under the same load.
+     */
+    private static final long SEED = 1;
+
+    private static int duckCount = 200;
+    private static double durationSeconds = 30;
+    private static String reportPath = "bench-report.json";
+
+    private static final Random random = new Random(SEED);
+    private static FrameStats frameStats;
+    private static Level level;
+    private static AnimationTimer timer;
+    private static long startNanos;
+    private static long lastFrameNanos;
+    private static long measureStartNanos;
+    private static long lastNodeSampleNanos;
+    private static long lastShotStep;
+    private static long gcCountAtStart;
+    private static long gcMillisAtStart;
+    private static int shots;
+    private static int peakNodeCount;
+    private static int fewestAliveDucks;
+
+    public static void setDuckCount(int count) {
+        duckCount = count;
+    }
+
+    public static void setDurationSeconds(double seconds) {
+        durationSeconds = seconds;
+    }
+
+    public static void setReportPath(String path) {
+        reportPath = path;
+    }
+
+    /**
+     * Starts the benchmark level and the measurement of its frames.
+     *
+     * @param primaryStage The primary stage of the game.
+     */
+    public static void start(Stage primaryStage) {
+        BackgroundManager.changeScreenShown = true;
+        DuckHunt.loadSoundEffects();
+        frameStats = new FrameStats((int) Math.min(Integer.MAX_VALUE, Math.ceil(durationSeconds) * 1000));
+
+        level = new Level(createSpec());
+        level.start(primaryStage);
+        lastShotStep = GameLoop.getStepCount();
+        GameLoop.setStepListener(StressBenchmark::shootIfDue);
+
+        startNanos = System.nanoTime();
+        lastFrameNanos = -1;
+        measureStartNanos = -1;
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+        timer.start();
+        LOGGER.info("Benchmarking " + duckCount + " ducks for " + durationSeconds + " s after a warm-up of "
+                + WARMUP_MILLIS / 1000 + " s");
+    }
+
+    /**
+     * Creates the benchmark level: a crowd of as many ducks as asked for, with enough ammo for every scripted shot.
+     *
+     * @return The specification of the benchmark level.
+     */
+    private static LevelSpec createSpec() {
+        int ammo = (int) Math.ceil((WARMUP_MILLIS + durationSeconds * 1000) / SHOT_INTERVAL_MILLIS) + 1;
+        return createCrowd(duckCount, ammo, random);
+    }
+
+    /**
+     * Creates a level of any number of ducks: the ducks of every campaign level, repeated with their colours cycled,
+     * their positions scattered and their phases drawn at random until there are as many as asked for.
+     * The microbenchmarks use it too, to measure the game at the same duck counts.
+     *
+     * @param count  The number of ducks.
+     * @param ammo   The ammo of the level.
+     * @param random The random generator that scatters the ducks.
+     * @return The specification of the level.
+     */
+    public static LevelSpec createCrowd(int count, int ammo, Random random) {
+        double duckWidth = SpriteCache.get("assets/duck_black/4.png").getWidth();
+        List<DuckSpec> templates = new ArrayList<>();
+        for (int number = 1; number <= Levels.COUNT; number++) {
+            templates.addAll(Levels.create(number, DuckHunt.SCREEN_WIDTH, duckWidth).getDucks());
+        }
+        List<DuckSpec> ducks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DuckSpec template = templates.get(i % templates.size());
+            ducks.add(new DuckSpec(DuckSpec.COLOURS[i % DuckSpec.COLOURS.length], template.getFirstFrame(),
+                    template.getStartX() + (random.nextDouble() - 0.5) * duckWidth,
+                    template.getStartY() + random.nextDouble() * DuckHunt.SCREEN_HEIGHT / 3,
+                    template.getTrajectory(), random.nextDouble() * template.getTrajectory().getPeriod()));
+        }
+        return new LevelSpec(1, ammo, ducks, LevelSpec.NO_NEXT_LEVEL);
+    }
+
+    /**
+     * Fires a shot at a random point of the playfield whenever the shot interval has passed in game time.
+     *
+     * @param stepCount The number of steps taken so far.
+     */
+    private static void shootIfDue(long stepCount) {
+        if ((stepCount - lastShotStep) * GameLoop.STEP_MILLIS < SHOT_INTERVAL_MILLIS) {
+            return;
+        }
+        lastShotStep = stepCount;
+        double x = GameScreen.toSceneX(random.nextDouble() * DuckHunt.SCREEN_WIDTH);
+        double y = GameScreen.toSceneY(random.nextDouble() * DuckHunt.SCREEN_HEIGHT);
+        Scene scene = GameScreen.getScene();
+        Event.fireEvent(scene, new MouseEvent(MouseEvent.MOUSE_MOVED, x, y, x, y, MouseButton.NONE, 0,
+                false, false, false, false, false, false, false, false, false, false, null));
+        Event.fireEvent(scene, new MouseEvent(MouseEvent.MOUSE_PRESSED, x, y, x, y, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, false, false, true, null));
+        if (measureStartNanos >= 0) {
+            shots++;
+        }
+    }
+
+    /**
+     * Records the frame that has just begun, starts measuring once the warm-up is over
+     * and finishes the benchmark once the measured duration has passed or every duck has been shot.
+     *
+     * @param now The timestamp of the pulse in nanoseconds.
+     */
+    private static void onPulse(long now) {
+        int aliveDucks = level.getSimulation().getAliveDuckCount();
+        if (aliveDucks == 0) {
+            LOGGER.warning("Every duck was shot after " + (now - startNanos) / 1e9 + " s; the report is not valid,"
+                    + " use more ducks or fewer seconds");
+            finish(now);
+            return;
+        }
+        if (measureStartNanos < 0) {
+            if ((now - startNanos) / 1e6 >= WARMUP_MILLIS) {
+                startMeasuring(now);
+            }
+            return;
+        }
+        frameStats.record((now - lastFrameNanos) / 1e6);
+        lastFrameNanos = now;
+        fewestAliveDucks = Math.min(fewestAliveDucks, aliveDucks);
+        if ((now - lastNodeSampleNanos) / 1e6 >= NODE_SAMPLE_MILLIS) {
+            lastNodeSampleNanos = now;
+            peakNodeCount = Math.max(peakNodeCount, DiagnosticsOverlay.countNodes(GameScreen.getScene().getRoot()));
+        }
+        if ((now - measureStartNanos) / 1e9 >= durationSeconds) {
+            finish(now);
+        }
+    }
+
+    /**
+     * Resets the counters that the report is measured against.
+     *
+     * @param now The timestamp of the pulse that measuring starts with, in nanoseconds.
+     */
+    private static void startMeasuring(long now) {
+        measureStartNanos = now;
+        lastFrameNanos = now;
+        lastNodeSampleNanos = now;
+        peakNodeCount = DiagnosticsOverlay.countNodes(GameScreen.getScene().getRoot());
+        fewestAliveDucks = level.getSimulation().getAliveDuckCount();
+        gcCountAtStart = getGcCount();
+        gcMillisAtStart = getGcMillis();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Stops the benchmark, writes its report and exits the game. The report is valid only if ducks were flying
+     * for the whole measured duration.
+     *
+     * @param now The timestamp of the last measured pulse in nanoseconds.
+     */
+    private static void finish(long now) {
+        timer.stop();
+        boolean valid = measureStartNanos >= 0 && level.getSimulation().getAliveDuckCount() > 0;
+        if (measureStartNanos < 0) {
+            // The playfield emptied during the warm-up, so nothing was measured
+            measureStartNanos = now;
+            fewestAliveDucks = 0;
+        }
+        GameLoop.setStepListener(null);
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeapBytes += pool.getPeakUsage().getUsed();
+            }
+        }
+        String report = String.format(Locale.ROOT, "{%n"
+                        + "  \"valid\": %b,%n"
+                        + "  \"ducks\": %d,%n"
+                        + "  \"fewestAliveDucks\": %d,%n"
+                        + "  \"renderer\": \"%s\",%n"
+                        + "  \"scale\": %d,%n"
+                        + "  \"parallel\": %b,%n"
+                        + "  \"durationSeconds\": %.3f,%n"
+                        + "  \"frames\": %d,%n"
+                        + "  \"fps\": %.2f,%n"
+                        + "  \"frameMillis\": {\"p50\": %.2f, \"p90\": %.2f, \"p99\": %.2f, \"p999\": %.2f, \"max\": %.2f},%n"
+                        + "  \"shots\": %d,%n"
+                        + "  \"gc\": {\"count\": %d, \"pauseMillis\": %d},%n"
+                        + "  \"peakHeapBytes\": %d,%n"
+                        + "  \"maxHeapBytes\": %d,%n"
+                        + "  \"peakNodeCount\": %d%n"
+                        + "}%n",
+                valid, duckCount, fewestAliveDucks,
+                DuckHunt.canvasRendering || duckCount > Level.MAX_NODE_RENDERED_DUCKS ? "canvas" : "nodes",
+                DuckHunt.scale, DuckStore.isParallel(), (now - measureStartNanos) / 1e9, frameStats.getCount(), frameStats.getFps(),
+                frameStats.getPercentile(0.5), frameStats.getPercentile(0.9), frameStats.getPercentile(0.99),
+                frameStats.getPercentile(0.999), frameStats.getMax(), shots,
+                getGcCount() - gcCountAtStart, getGcMillis() - gcMillisAtStart,
+                peakHeapBytes, Runtime.getRuntime().maxMemory(), peakNodeCount);
+        try {
+            Files.write(Paths.get(reportPath), report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the benchmark report " + reportPath, e);
+        }
+        LOGGER.info("Benchmark report written to " + reportPath);
+        GameLoop.stop();
+        Platform.exit();
+    }
+
+    /**
+     * Returns the number of garbage collections since the virtual machine started.
+     *
+     * @return The number of collections.
+     */
+    private static long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Returns the time spent in garbage collection since the virtual machine started.
+     *
+     * @return The accumulated collection time in milliseconds.
+     */
+    private static long getGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+}
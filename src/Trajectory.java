@@ -0,0 +1,145 @@
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+/**
+ * The Trajectory class describes the looping flight path of a duck: its horizontal and vertical offsets
+ * from the initial position and the direction it faces at every point of the loop.
+ * The loop lasts as long as the latest key of any of its tracks.
+ * A trajectory is built key by key and then compiled into a {@link TrajectoryTable}, which is what the ducks fly.
+ */
+public class Trajectory {
+    private final KeyTrack offsetX = new KeyTrack(0, false);
+    private final KeyTrack offsetY = new KeyTrack(0, false);
+    private final KeyTrack facingX = new KeyTrack(1, true);
+    private final KeyTrack facingY = new KeyTrack(1, true);
+
+    /**
+     * The compiled form of the trajectory, created on first use and dropped whenever a key is added.
+     */
+    private TrajectoryTable table;
+
+    /**
+     * Adds a key for the horizontal offset of the duck.
+     *
+     * @param timeMillis The time of the key in milliseconds.
+     * @param x          The horizontal offset of the duck at that time.
+     * @return This trajectory.
+     */
+    public Trajectory moveX(double timeMillis, double x) {
+        offsetX.add(timeMillis, x);
+        table = null;
+        return this;
+    }
+
+    /**
+     * Adds a key for the vertical offset of the duck.
+     *
+     * @param timeMillis The time of the key in milliseconds.
+     * @param y          The vertical offset of the duck at that time.
+     * @return This trajectory.
+     */
+    public Trajectory moveY(double timeMillis, double y) {
+        offsetY.add(timeMillis, y);
+        table = null;
+        return this;
+    }
+
+    /**
+     * Makes the duck face horizontally in the specified direction from the given time on.
+     *
+     * @param timeMillis The time of the flip in milliseconds.
+     * @param scaleX     1 to face right, -1 to face left.
+     * @return This trajectory.
+     */
+    public Trajectory faceX(double timeMillis, double scaleX) {
+        facingX.add(timeMillis, scaleX);
+        table = null;
+        return this;
+    }
+
+    /**
+     * Makes the duck face vertically in the specified direction from the given time on.
+     *
+     * @param timeMillis The time of the flip in milliseconds.
+     * @param scaleY     1 to face up, -1 to face down.
+     * @return This trajectory.
+     */
+    public Trajectory faceY(double timeMillis, double scaleY) {
+        facingY.add(timeMillis, scaleY);
+        table = null;
+        return this;
+    }
+
+    /**
+     * Returns the compiled form of the trajectory, compiling it the first time. Every duck that flies this
+     * trajectory shares the same table.
+     *
+     * @return The trajectory table.
+     */
+    public TrajectoryTable compile() {
+        if (table == null) {
+            table = new TrajectoryTable(this, getKeyTimes());
+        }
+        return table;
+    }
+
+    /**
+     * Returns the times at which any track of the trajectory has a key, which are where its segments start.
+     *
+     * @return The sorted, distinct key times of all tracks in milliseconds, starting at zero.
+     */
+    public double[] getKeyTimes() {
+        return Stream.of(offsetX, offsetY, facingX, facingY)
+                .flatMapToDouble(track -> DoubleStream.of(track.getKeyTimes())).sorted().distinct().toArray();
+    }
+
+    /**
+     * Returns the duration of one loop of the trajectory.
+     *
+     * @return The duration of the loop in milliseconds.
+     */
+    public double getPeriod() {
+        return Math.max(Math.max(offsetX.getLastKeyTime(), offsetY.getLastKeyTime()),
+                Math.max(facingX.getLastKeyTime(), facingY.getLastKeyTime()));
+    }
+
+    /**
+     * Returns the horizontal offset of the duck at the specified time of the loop.
+     *
+     * @param timeMillis The time within the loop in milliseconds.
+     * @return The horizontal offset at that time.
+     */
+    public double getX(double timeMillis) {
+        return offsetX.valueAt(timeMillis);
+    }
+
+    /**
+     * Returns the vertical offset of the duck at the specified time of the loop.
+     *
+     * @param timeMillis The time within the loop in milliseconds.
+     * @return The vertical offset at that time.
+     */
+    public double getY(double timeMillis) {
+        return offsetY.valueAt(timeMillis);
+    }
+
+    /**
+     * Returns the horizontal facing of the duck at the specified time of the loop.
+     *
+     * @param timeMillis The time within the loop in milliseconds.
+     * @return The horizontal facing at that time.
+     */
+    public double getFacingX(double timeMillis) {
+        return facingX.valueAt(timeMillis);
+    }
+
+    /**
+     * Returns the vertical facing of the duck at the specified time of the loop.
+     *
+     * @param timeMillis The time within the loop in milliseconds.
+     * @return The vertical facing at that time.
+     */
+    public double getFacingY(double timeMillis) {
+        return facingY.valueAt(timeMillis);
+    }
+}
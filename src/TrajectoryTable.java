@@ -0,0 +1,143 @@
+/**
+ * The TrajectoryTable class is a {@link Trajectory} compiled for fast evaluation. The key times of all four
+ * tracks of the trajectory split its loop into segments, and within each segment the offsets change linearly and
+ * the facing stays the same, so every segment is stored as a start time, a start offset and a slope along each axis,
+ * and its facing. The segment of any time is found through a table of evenly spaced buckets over the loop, so
+ * evaluating the trajectory is a few array lookups and one multiply-add per axis, with no search.
+ * A table is shared by every duck that flies the same trajectory; each duck only adds its own phase offset.
+ */
+public class TrajectoryTable {
+
+    /**
+     * The number of buckets the loop is divided into for finding segments.
+     */
+    private static final int BUCKET_COUNT = 64;
+
+    private final double period;
+    private final double bucketsPerMillis;
+    private final int[] bucketSegment;
+    private final double[] segmentStart;
+    private final double[] startX;
+    private final double[] slopeX;
+    private final double[] startY;
+    private final double[] slopeY;
+    private final byte[] facingX;
+    private final byte[] facingY;
+
+    /**
+     * Compiles the specified trajectory. Use {@link Trajectory#compile()}, which compiles each trajectory only once.
+     *
+     * @param trajectory The trajectory to compile.
+     * @param keyTimes   The sorted, distinct key times of all tracks of the trajectory, starting at zero.
+     */
+    TrajectoryTable(Trajectory trajectory, double[] keyTimes) {
+        period = trajectory.getPeriod();
+        int segmentCount = Math.max(1, keyTimes.length - 1);
+        segmentStart = new double[segmentCount];
+        startX = new double[segmentCount];
+        slopeX = new double[segmentCount];
+        startY = new double[segmentCount];
+        slopeY = new double[segmentCount];
+        facingX = new byte[segmentCount];
+        facingY = new byte[segmentCount];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            double start = keyTimes[segment];
+            double end = segment + 1 < keyTimes.length ? keyTimes[segment + 1] : start;
+            segmentStart[segment] = start;
+            startX[segment] = trajectory.getX(start);
+            startY[segment] = trajectory.getY(start);
+            if (end > start) {
+                slopeX[segment] = (trajectory.getX(end) - startX[segment]) / (end - start);
+                slopeY[segment] = (trajectory.getY(end) - startY[segment]) / (end - start);
+            }
+            facingX[segment] = trajectory.getFacingX(start) < 0 ? (byte) -1 : (byte) 1;
+            facingY[segment] = trajectory.getFacingY(start) < 0 ? (byte) -1 : (byte) 1;
+        }
+
+        bucketsPerMillis = period > 0 ? BUCKET_COUNT / period : 0;
+        bucketSegment = new int[BUCKET_COUNT];
+        int segment = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            double bucketStart = bucket / bucketsPerMillis;
+            while (segment + 1 < segmentCount && segmentStart[segment + 1] <= bucketStart) {
+                segment++;
+            }
+            bucketSegment[bucket] = segment;
+        }
+    }
+
+    /**
+     * Returns the time within the loop that the specified time since the start of the flight falls on.
+     *
+     * @param timeMillis The time since the start of the flight in milliseconds.
+     * @return The time within the loop, from 0 up to the period.
+     */
+    public double loopTime(double timeMillis) {
+        return period > 0 ? timeMillis % period : 0;
+    }
+
+    /**
+     * Returns the segment that the specified time of the loop lies in.
+     *
+     * @param loopTimeMillis The time within the loop in milliseconds.
+     * @return The index of the segment.
+     */
+    public int segmentAt(double loopTimeMillis) {
+        int bucket = Math.min(BUCKET_COUNT - 1, Math.max(0, (int) (loopTimeMillis * bucketsPerMillis)));
+        int segment = bucketSegment[bucket];
+        while (segment + 1 < segmentStart.length && segmentStart[segment + 1] <= loopTimeMillis) {
+            segment++;
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the horizontal offset at the specified time of the loop.
+     *
+     * @param segment        The segment of the time, from {@link #segmentAt}.
+     * @param loopTimeMillis The time within the loop in milliseconds.
+     * @return The horizontal offset at that time.
+     */
+    public double getX(int segment, double loopTimeMillis) {
+        return startX[segment] + slopeX[segment] * (loopTimeMillis - segmentStart[segment]);
+    }
+
+    /**
+     * Returns the vertical offset at the specified time of the loop.
+     *
+     * @param segment        The segment of the time, from {@link #segmentAt}.
+     * @param loopTimeMillis The time within the loop in milliseconds.
+     * @return The vertical offset at that time.
+     */
+    public double getY(int segment, double loopTimeMillis) {
+        return startY[segment] + slopeY[segment] * (loopTimeMillis - segmentStart[segment]);
+    }
+
+    /**
+     * Returns the horizontal facing of a segment.
+     *
+     * @param segment The index of the segment.
+     * @return 1 to face right, -1 to face left.
+     */
+    public byte getFacingX(int segment) {
+        return facingX[segment];
+    }
+
+    /**
+     * Returns the vertical facing of a segment.
+     *
+     * @param segment The index of the segment.
+     * @return 1 to face up, -1 to face down.
+     */
+    public byte getFacingY(int segment) {
+        return facingY[segment];
+    }
+
+    public double getPeriod() {
+        return period;
+    }
+
+    public int getSegmentCount() {
+        return segmentStart.length;
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The WaveGenerator class creates the waves of the endless mode. Every wave has more ducks than the one before,
+ * flying faster, until there are hundreds of them on the screen at once. Every wave has a handful of flight paths,
+ * the same horizontal sweeps and zig-zags as the campaign levels with their speeds and turning points drawn at random,
+ * and its ducks share them, each at its own height and at its own point of the loop.
+ * A wave is generated from its number alone, so the same wave always has the same ducks.
+ * All positions are in sprite pixels.
+ */
+public class WaveGenerator {
+
+    /**
+     * The most ducks a wave can have.
+     */
+    public static final int MAX_DUCKS = 500;
+
+    /**
+     * The time a duck of the first wave takes to cross its sweep, in milliseconds.
+     */
+    private static final double FIRST_HALF_PERIOD_MILLIS = 1800;
+
+    /**
+     * The shortest time a duck may take to cross its sweep, in milliseconds.
+     */
+    private static final double MIN_HALF_PERIOD_MILLIS = 450;
+
+    /**
+     * The factor the crossing time is multiplied by with every wave.
+     */
+    private static final double SPEED_UP = 0.93;
+
+    /**
+     * The share of the ducks of a wave that fly zig-zags instead of horizontal sweeps.
+     */
+    private static final double ZIGZAG_SHARE = 0.3;
+
+    /**
+     * The number of flight paths the ducks of a wave share.
+     */
+    private static final int PATH_COUNT = 16;
+
+    /**
+     * The range of heights the sweeping ducks fly at, above the grass.
+     */
+    private static final double MIN_SWEEP_Y = 10;
+    private static final double MAX_SWEEP_Y = 140;
+
+    /**
+     * Creates the specified wave of the endless mode.
+     *
+     * @param wave      The number of the wave, from 1.
+     * @param width     The width of the playfield in sprite pixels.
+     * @param duckWidth The width of a duck sprite in sprite pixels.
+     * @return The specification of the wave.
+     */
+    public static LevelSpec create(int wave, double width, double duckWidth) {
+        if (wave < 1) {
+            throw new IllegalArgumentException("There is no wave " + wave);
+        }
+        Random random = new Random(wave);
+        double rightX = width - duckWidth;
+        double halfPeriodMillis = Math.max(MIN_HALF_PERIOD_MILLIS, FIRST_HALF_PERIOD_MILLIS * Math.pow(SPEED_UP, wave - 1));
+        int duckCount = getDuckCount(wave);
+
+        Trajectory[] paths = new Trajectory[Math.min(duckCount, PATH_COUNT)];
+        boolean[] zigzags = new boolean[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            // Every path is a little faster or slower than the pace of the wave, so that the ducks spread out
+            double pathHalfPeriodMillis = halfPeriodMillis * (0.8 + 0.4 * random.nextDouble());
+            zigzags[i] = random.nextDouble() < ZIGZAG_SHARE;
+            if (zigzags[i]) {
+                paths[i] = Levels.zigzag(rightX, pathHalfPeriodMillis);
+            } else {
+                double fromX = rightX * random.nextDouble();
+                double toX = fromX < rightX / 2 ? fromX + (rightX - fromX) * (0.5 + 0.5 * random.nextDouble())
+                        : fromX * (0.5 * random.nextDouble());
+                paths[i] = Levels.sweep(fromX, toX, pathHalfPeriodMillis);
+            }
+        }
+
+        List<DuckSpec> ducks = new ArrayList<>(duckCount);
+        for (int i = 0; i < duckCount; i++) {
+            String colour = DuckSpec.COLOURS[random.nextInt(DuckSpec.COLOURS.length)];
+            int path = i < paths.length ? i : random.nextInt(paths.length);
+            double phaseMillis = random.nextDouble() * paths[path].getPeriod();
+            if (zigzags[path]) {
+                ducks.add(new DuckSpec(colour, DuckSpec.DIAGONAL_FRAMES, 0, 45 * random.nextDouble(), paths[path], phaseMillis));
+            } else {
+                double y = MIN_SWEEP_Y + (MAX_SWEEP_Y - MIN_SWEEP_Y) * random.nextDouble();
+                ducks.add(new DuckSpec(colour, DuckSpec.HORIZONTAL_FRAMES, 0, y, paths[path], phaseMillis));
+            }
+        }
+        // One shell for every duck and a few to spare; crowded waves let a single shell hit several ducks
+        int ammo = duckCount + 3;
+        return new LevelSpec(wave, ammo, ducks, wave + 1, true);
+    }
+
+    /**
+     * Returns the number of ducks in the specified wave. It grows with the square of the wave number,
+     * from 3 in the first wave to over a hundred by the tenth, up to {@link #MAX_DUCKS}.
+     *
+     * @param wave The number of the wave, from 1.
+     * @return The number of ducks.
+     */
+    public static int getDuckCount(int wave) {
+        return (int) Math.min(MAX_DUCKS, 1 + wave + (long) wave * wave);
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * The Check class holds the assertions of the tests. The tests are plain programs that run next to the javac build,
+ * without a test framework, and fail by throwing an AssertionError from here.
+ */
+public class Check {
+
+    /**
+     * Fails if the specified condition does not hold.
+     *
+     * @param condition The condition to check.
+     * @param message   What was expected, for the failure message.
+     */
+    public static void that(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Fails if the specified values are not equal.
+     *
+     * @param expected The expected value.
+     * @param actual   The actual value.
+     * @param what     What the value is, for the failure message.
+     */
+    public static void equal(long expected, long actual, String what) {
+        if (expected != actual) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Fails if the specified values differ by more than the tolerance.
+     *
+     * @param expected  The expected value.
+     * @param actual    The actual value.
+     * @param tolerance The largest difference allowed.
+     * @param what      What the value is, for the failure message.
+     */
+    public static void near(double expected, double actual, double tolerance, String what) {
+        if (!(Math.abs(expected - actual) <= tolerance)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+}
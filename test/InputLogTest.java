@@ -0,0 +1,203 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The InputLogTest class writes input logs and reads them back, and checks that every header field and every event
+ * comes back as it was written: pointers moving back towards the origin, numbers that take several bytes,
+ * long pauses between events and every type of record.
+ * It is run with {@code java InputLogTest} after compiling the game and the tests.
+ */
+public class InputLogTest {
+
+    /**
+     * The resolution pointer positions are stored in, and the largest error of a position that is not a multiple of it.
+     */
+    private static final double POSITION_STEP = 1.0 / 8;
+
+    /**
+     * The resolution the lag of the view is stored in.
+     */
+    private static final double LAG_STEP = 1.0 / 1000;
+
+    /**
+     * An hour in nanoseconds, which needs six bytes as a variable-length number.
+     */
+    private static final long HOUR_NANOS = 3_600_000_000_000L;
+
+    public static void main(String[] args) throws IOException {
+        keepsTheHeader();
+        keepsEveryTypeOfEvent();
+        keepsPointersMovingBack();
+        keepsNumbersOfEveryLength();
+        keepsLongPauses();
+        roundsPositionsAndLag();
+        storesSmallMovesCompactly();
+        rejectsOtherStreams();
+        System.out.println("InputLogTest passed");
+    }
+
+    private static void keepsTheHeader() throws IOException {
+        InputLog.Reader reader = read(write(4, true, 2, 1));
+        Check.equal(4, reader.getLevel(), "level");
+        Check.that(reader.isEndless(), "the endless flag is kept");
+        Check.equal(2, reader.getBackground(), "background");
+        Check.equal(1, reader.getCrosshair(), "crosshair");
+        Check.that(reader.next() == null, "a log without events has none");
+
+        reader = read(write(1000, false, 0, 300));
+        Check.equal(1000, reader.getLevel(), "level of a late endless wave");
+        Check.that(!reader.isEndless(), "the campaign flag is kept");
+        Check.equal(0, reader.getBackground(), "first background");
+        Check.equal(300, reader.getCrosshair(), "crosshair that needs two bytes");
+    }
+
+    private static void keepsEveryTypeOfEvent() throws IOException {
+        roundTrip(
+                new InputLog.Event(InputLog.MOVE, 1_000_000, 0, 10.5, 20.25, 0, 0),
+                new InputLog.Event(InputLog.PRESS, 16_666_667, 2, 10.5, 20.25, 1, 8.333),
+                new InputLog.Event(InputLog.KEY, 33_000_000, 4, 10.5, 20.25, 27, 0),
+                new InputLog.Event(InputLog.MOVE, 33_000_000, 4, 11, 21, 0, 0),
+                new InputLog.Event(InputLog.PRESS, 50_000_000, 6, 11, 21, 3, 0),
+                new InputLog.Event(InputLog.KEY, 50_000_001, 6, 11, 21, 10, 0));
+    }
+
+    private static void keepsPointersMovingBack() throws IOException {
+        roundTrip(
+                new InputLog.Event(InputLog.MOVE, 1, 0, 255.875, 239.875, 0, 0),
+                new InputLog.Event(InputLog.MOVE, 2, 0, 0, 0, 0, 0),
+                new InputLog.Event(InputLog.MOVE, 3, 0, 128, 0.125, 0, 0),
+                new InputLog.Event(InputLog.PRESS, 4, 1, 127.875, 0, 1, 0),
+                new InputLog.Event(InputLog.MOVE, 5, 1, -12.5, -3.125, 0, 0),
+                new InputLog.Event(InputLog.MOVE, 6, 2, -4000, 5000, 0, 0),
+                new InputLog.Event(InputLog.PRESS, 7, 2, -4000.125, -5000, 2, 0.5));
+    }
+
+    private static void keepsNumbersOfEveryLength() throws IOException {
+        long nanos = 0;
+        long step = 0;
+        InputLog.Event[] events = new InputLog.Event[2 * 8];
+        for (int bytes = 1; bytes <= 8; bytes++) {
+            // The largest and the smallest delta that take this many bytes
+            long largest = (1L << (7 * bytes)) - 1;
+            long smallest = bytes == 1 ? 0 : 1L << (7 * (bytes - 1));
+            nanos += largest;
+            step += smallest;
+            events[2 * (bytes - 1)] = new InputLog.Event(InputLog.KEY, nanos, step, 0, 0, bytes < 5 ? (int) largest : 0, 0);
+            nanos += smallest;
+            step += largest;
+            events[2 * (bytes - 1) + 1] = new InputLog.Event(InputLog.PRESS, nanos, step,
+                    bytes < 5 ? smallest / 8.0 : 0, 0, bytes < 5 ? (int) smallest : 0, 0);
+        }
+        roundTrip(events);
+        // The largest time and step take nine bytes
+        roundTrip(new InputLog.Event(InputLog.KEY, Long.MAX_VALUE, Long.MAX_VALUE, 0, 0, Integer.MAX_VALUE, 0));
+    }
+
+    private static void keepsLongPauses() throws IOException {
+        roundTrip(
+                new InputLog.Event(InputLog.MOVE, HOUR_NANOS, 432_000, 1, 2, 0, 0),
+                new InputLog.Event(InputLog.MOVE, HOUR_NANOS + 1, 432_000, 1.125, 2, 0, 0),
+                new InputLog.Event(InputLog.PRESS, 25 * HOUR_NANOS, 10_800_000, 3, 4, 1, 1000),
+                new InputLog.Event(InputLog.KEY, 365 * 24 * HOUR_NANOS, 3_784_320_000L, 3, 4, 27, 0));
+    }
+
+    private static void roundsPositionsAndLag() throws IOException {
+        InputLog.Event written = new InputLog.Event(InputLog.PRESS, 5, 1, 100.03, -7.94, 1, 3.14159);
+        InputLog.Event read = read(write(1, false, 0, 0, written)).next();
+        Check.near(written.getX(), read.getX(), POSITION_STEP / 2, "rounded X");
+        Check.near(written.getY(), read.getY(), POSITION_STEP / 2, "rounded Y");
+        Check.near(written.getLagMillis(), read.getLagMillis(), LAG_STEP / 2, "rounded lag");
+
+        InputLog.Event early = new InputLog.Event(InputLog.PRESS, 5, 1, 0, 0, 1, -2);
+        Check.near(0, read(write(1, false, 0, 0, early)).next().getLagMillis(), 0, "a view ahead of the simulation has no lag");
+    }
+
+    private static void storesSmallMovesCompactly() throws IOException {
+        int moves = 1000;
+        InputLog.Event[] events = new InputLog.Event[moves];
+        for (int i = 0; i < moves; i++) {
+            // Moves back and forth about every 8 milliseconds, as a mouse reports them
+            int swing = i % 40 < 20 ? i % 20 : 20 - i % 20;
+            events[i] = new InputLog.Event(InputLog.MOVE, i * 8_000_000L, i, 118 + swing, 130 - swing / 2.0, 0, 0);
+        }
+        // The first move is from the origin, so only the moves after it are small
+        int first = write(1, false, 0, 0, events[0]).length;
+        int size = write(1, false, 0, 0, events).length - first;
+        Check.that(size <= 8 * (moves - 1), "a small mouse move takes at most eight bytes, but took "
+                + (double) size / (moves - 1));
+        roundTrip(events);
+    }
+
+    private static void rejectsOtherStreams() throws IOException {
+        byte[] log = write(1, false, 0, 0, new InputLog.Event(InputLog.PRESS, HOUR_NANOS, 10, 50, 60, 1, 2));
+        for (int length = write(1, false, 0, 0).length + 1; length < log.length; length++) {
+            InputLog.Reader reader = read(Arrays.copyOf(log, length));
+            try {
+                reader.next();
+                throw new AssertionError("a log cut after " + length + " bytes is read");
+            } catch (EOFException e) {
+                // The record is known to be incomplete
+            }
+        }
+
+        byte[] other = log.clone();
+        other[0] ^= 1;
+        try {
+            read(other);
+            throw new AssertionError("a stream that is not an input log is read");
+        } catch (IOException e) {
+            Check.that(!(e instanceof EOFException), "a stream that is not an input log is rejected, not cut short");
+        }
+    }
+
+    /**
+     * Writes the specified events, reads them back and checks that they are all the same.
+     * The positions and the lag of the events must be multiples of the resolution they are stored in.
+     * A key event is read back at the position of the last pointer event, as that is not stored again.
+     *
+     * @param events The events to write.
+     * @throws IOException If the log could not be written or read.
+     */
+    private static void roundTrip(InputLog.Event... events) throws IOException {
+        InputLog.Reader reader = read(write(3, false, 1, 2, events));
+        double x = 0;
+        double y = 0;
+        for (int i = 0; i < events.length; i++) {
+            InputLog.Event written = events[i];
+            InputLog.Event read = reader.next();
+            String what = "event " + i;
+            if (written.getType() != InputLog.KEY) {
+                x = written.getX();
+                y = written.getY();
+            }
+            Check.that(read != null, what + " is read");
+            Check.equal(written.getType(), read.getType(), what + " type");
+            Check.equal(written.getNanos(), read.getNanos(), what + " nanoseconds");
+            Check.equal(written.getStep(), read.getStep(), what + " step");
+            Check.near(x, read.getX(), 0, what + " X");
+            Check.near(y, read.getY(), 0, what + " Y");
+            Check.equal(written.getCode(), read.getCode(), what + " code");
+            Check.near(written.getType() == InputLog.PRESS ? written.getLagMillis() : 0, read.getLagMillis(), 1e-12,
+                    what + " lag");
+        }
+        Check.that(reader.next() == null, "the log ends after the last event");
+    }
+
+    private static byte[] write(int level, boolean endless, int background, int crosshair, InputLog.Event... events)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (InputLog.Writer writer = new InputLog.Writer(bytes, level, endless, background, crosshair)) {
+            for (InputLog.Event event : events) {
+                writer.write(event);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static InputLog.Reader read(byte[] log) throws IOException {
+        return new InputLog.Reader(new ByteArrayInputStream(log));
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * The LevelSimulationTest class plays every campaign level headless on a virtual clock, with scripted shots,
+ * and checks how the level ends and how much ammo is left. Without a screen or the duck masks,
+ * the whole sprite bounds of a duck count as the duck.
+ * It is run with {@code java LevelSimulationTest} after compiling the game and the tests.
+ */
+public class LevelSimulationTest {
+
+    /**
+     * The size of the playfield and of a duck sprite in sprite pixels, as the assets of the game have them.
+     */
+    private static final double WIDTH = 256;
+    private static final double HEIGHT = 240;
+    private static final double DUCK_WIDTH = 33;
+    private static final double DUCK_HEIGHT = 31;
+
+    /**
+     * The time between two scripted shots.
+     */
+    private static final double SHOT_INTERVAL_MILLIS = 250;
+
+    /**
+     * A point of the playfield that no duck of any campaign level flies over.
+     */
+    private static final double MISS_X = WIDTH / 2;
+    private static final double MISS_Y = HEIGHT - 1;
+
+    /**
+     * The ammo left after shooting every duck of each level once, indexed by the level number.
+     */
+    private static final int[] AMMO_AFTER_WIN = {0, 2, 2, 4, 4, 6, 6};
+
+    /**
+     * The least number of times faster than real time a level has to run.
+     */
+    private static final double MIN_SPEED_UP = 1000;
+
+    public static void main(String[] args) {
+        for (int number = 1; number <= Levels.COUNT; number++) {
+            winsWhenEveryDuckIsShot(number);
+            losesWhenEveryShotMisses(number);
+            shootsOneDuckAndMissesTheRest(number);
+            runsFasterThanRealTime(number);
+        }
+        System.out.println("LevelSimulationTest passed");
+    }
+
+    /**
+     * Shoots the first flying duck of the level in the middle until none is left.
+     *
+     * @param number The number of the level.
+     */
+    private static void winsWhenEveryDuckIsShot(int number) {
+        LevelSimulation simulation = createSimulation(number);
+        Events events = new Events();
+        simulation.setListener(events);
+        DuckStore ducks = simulation.getDucks();
+        int shots = 0;
+        while (ducks.getAliveCount() > 0 && shots < simulation.getSpec().getAmmo()) {
+            simulation.run(SHOT_INTERVAL_MILLIS, GameLoop.STEP_MILLIS);
+            int duck = ducks.nextAlive(0);
+            Check.equal(1, simulation.shoot(ducks.getX(duck) + ducks.getWidth(duck) / 2,
+                    ducks.getY(duck) + ducks.getHeight(duck) / 2), "ducks hit by shot " + shots + " in level " + number);
+            shots++;
+        }
+        Check.that(simulation.isWon(), "level " + number + " is won");
+        Check.equal(ducks.getCount(), shots, "shots to win level " + number);
+        Check.equal(AMMO_AFTER_WIN[number], simulation.getAmmo(), "ammo after winning level " + number);
+        Check.equal(AMMO_AFTER_WIN[number], events.ammo, "ammo reported after winning level " + number);
+        Check.equal(ducks.getCount(), events.ducksShot, "ducks reported shot in level " + number);
+        Check.equal(shots, events.shotsFired, "shots reported in level " + number);
+        boolean last = number == Levels.COUNT;
+        Check.equal(last ? 0 : 1, events.levelsWon, "levels won in level " + number);
+        Check.equal(last ? 1 : 0, events.gamesCompleted, "games completed in level " + number);
+        Check.equal(0, events.gamesOver, "games over in level " + number);
+        Check.that(simulation.isGameOver() == last, "the game is over only after the last level");
+
+        // The shot ducks fall to the ground and disappear
+        simulation.run(2000, GameLoop.STEP_MILLIS);
+        for (int duck = 0; duck < ducks.getCount(); duck++) {
+            Check.that(ducks.isGone(duck), "duck " + duck + " of level " + number + " has hit the ground");
+        }
+    }
+
+    /**
+     * Fires every shell of the level at an empty point of the sky.
+     *
+     * @param number The number of the level.
+     */
+    private static void losesWhenEveryShotMisses(int number) {
+        LevelSimulation simulation = createSimulation(number);
+        Events events = new Events();
+        simulation.setListener(events);
+        int ammo = simulation.getSpec().getAmmo();
+        for (int shot = 0; shot < ammo; shot++) {
+            simulation.run(SHOT_INTERVAL_MILLIS, GameLoop.STEP_MILLIS);
+            Check.equal(0, simulation.shoot(MISS_X, MISS_Y), "ducks hit by a miss in level " + number);
+        }
+        Check.that(simulation.isGameOver(), "level " + number + " is lost");
+        Check.that(!simulation.isWon(), "level " + number + " is not won");
+        Check.equal(0, simulation.getAmmo(), "ammo after losing level " + number);
+        Check.equal(simulation.getDucks().getCount(), simulation.getAliveDuckCount(), "ducks flying in level " + number);
+        Check.equal(1, events.gamesOver, "games over in level " + number);
+        Check.equal(-1, simulation.shoot(MISS_X, MISS_Y), "a shot after the game is over");
+    }
+
+    /**
+     * Shoots one duck of the level and fires the rest of the shells at an empty point of the sky.
+     *
+     * @param number The number of the level.
+     */
+    private static void shootsOneDuckAndMissesTheRest(int number) {
+        LevelSimulation simulation = createSimulation(number);
+        Events events = new Events();
+        simulation.setListener(events);
+        DuckStore ducks = simulation.getDucks();
+        simulation.run(SHOT_INTERVAL_MILLIS, GameLoop.STEP_MILLIS);
+        int duck = ducks.nextAlive(0);
+        simulation.shoot(ducks.getX(duck) + ducks.getWidth(duck) / 2, ducks.getY(duck) + ducks.getHeight(duck) / 2);
+        while (!simulation.isGameOver() && !simulation.isWon()) {
+            simulation.run(SHOT_INTERVAL_MILLIS, GameLoop.STEP_MILLIS);
+            simulation.shoot(MISS_X, MISS_Y);
+        }
+        if (ducks.getCount() == 1) {
+            Check.that(simulation.isWon(), "level " + number + " with one duck is won by one hit");
+            Check.equal(simulation.getSpec().getAmmo() - 1, simulation.getAmmo(), "ammo after one hit in level " + number);
+        } else {
+            Check.that(simulation.isGameOver(), "level " + number + " is lost");
+            Check.equal(0, simulation.getAmmo(), "ammo after losing level " + number);
+            Check.equal(ducks.getCount() - 1, simulation.getAliveDuckCount(), "ducks flying in level " + number);
+        }
+        Check.equal(1, events.ducksShot, "ducks reported shot in level " + number);
+    }
+
+    /**
+     * Plays ten minutes of the level on the virtual clock and checks that it takes a tiny fraction of that.
+     *
+     * @param number The number of the level.
+     */
+    private static void runsFasterThanRealTime(int number) {
+        double millis = 10 * 60 * 1000;
+        LevelSimulation simulation = createSimulation(number);
+        long start = System.nanoTime();
+        simulation.run(millis, GameLoop.STEP_MILLIS);
+        double speedUp = millis / ((System.nanoTime() - start) / 1e6);
+        Check.near(millis, simulation.getElapsedMillis(), GameLoop.STEP_MILLIS, "virtual time of level " + number);
+        Check.that(speedUp >= MIN_SPEED_UP, "level " + number + " ran only " + speedUp + " times faster than real time");
+        System.out.printf("Level %d ran %.0f times faster than real time%n", number, speedUp);
+    }
+
+    /**
+     * Creates the simulation of a campaign level with the duck sizes of the assets.
+     *
+     * @param number The number of the level.
+     * @return The level simulation.
+     */
+    private static LevelSimulation createSimulation(int number) {
+        return new LevelSimulation(Levels.create(number, WIDTH, DUCK_WIDTH), WIDTH, HEIGHT,
+                duckSpec -> DUCK_WIDTH, duckSpec -> DUCK_HEIGHT);
+    }
+
+    /**
+     * The Events class counts what the level reports to its listener.
+     */
+    private static class Events implements LevelSimulation.Listener {
+        private int shotsFired;
+        private int ducksShot;
+        private int ammo = -1;
+        private int levelsWon;
+        private int gamesCompleted;
+        private int gamesOver;
+
+        @Override
+        public void shotFired() {
+            shotsFired++;
+        }
+
+        @Override
+        public void duckShot(int duck) {
+            ducksShot++;
+        }
+
+        @Override
+        public void ammoChanged(int ammoLeft) {
+            ammo = ammoLeft;
+        }
+
+        @Override
+        public void levelWon() {
+            levelsWon++;
+        }
+
+        @Override
+        public void gameCompleted() {
+            gamesCompleted++;
+        }
+
+        @Override
+        public void gameOver() {
+            gamesOver++;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The TrajectoryTableTest class checks that a compiled {@link TrajectoryTable} puts a duck where evaluating the
+ * {@link KeyTrack}s of its {@link Trajectory} does: on every key and between keys, across the wrap-around of the
+ * loop and for every phase offset, for the trajectories of every campaign level, of the endless waves and for
+ * trajectories whose tracks have keys at different times.
+ * It is run with {@code java TrajectoryTableTest} after compiling the game and the tests.
+ */
+public class TrajectoryTableTest {
+
+    /**
+     * The size of the playfield and of a duck sprite in sprite pixels, as the assets of the game have them.
+     */
+    private static final double WIDTH = 256;
+    private static final double DUCK_WIDTH = 33;
+
+    /**
+     * The largest difference allowed between an offset from the table and from the tracks, in sprite pixels.
+     */
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * The number of loops of each trajectory that are checked, so that times far past the first loop are included.
+     */
+    private static final int LOOPS = 3;
+
+    /**
+     * The number of evenly spaced times checked within each loop, in addition to the keys.
+     */
+    private static final int SAMPLES_PER_LOOP = 997;
+
+    /**
+     * The endless waves whose trajectories are checked.
+     */
+    private static final int[] WAVES = {1, 2, 5, 10, 25, 100};
+
+    public static void main(String[] args) {
+        for (int number = 1; number <= Levels.COUNT; number++) {
+            checkDucks(Levels.create(number, WIDTH, DUCK_WIDTH), "level " + number);
+        }
+        for (int wave : WAVES) {
+            checkDucks(WaveGenerator.create(wave, WIDTH, DUCK_WIDTH), "wave " + wave);
+        }
+
+        Trajectory uneven = new Trajectory()
+                .moveX(0, 5).moveX(130, -40).moveX(700, 90)
+                .moveY(45, 10).moveY(400, -75).moveY(1000, 0)
+                .faceX(90, -1).faceX(650, 1)
+                .faceY(300, -1).faceY(1000, 1);
+        checkTrajectory(uneven, 0, "uneven keys");
+        checkTrajectory(uneven, 333.3, "uneven keys with a phase");
+
+        // More segments than buckets, so that a bucket holds several segments
+        Trajectory dense = new Trajectory();
+        for (int key = 1; key <= 300; key++) {
+            dense.moveX(key * 7.25, (key * 37) % 101 - 50).moveY(key * 11.5, (key * 53) % 89);
+            if (key % 17 == 0) {
+                dense.faceX(key * 3.1, key % 2 == 0 ? 1 : -1);
+            }
+        }
+        checkTrajectory(dense, 0, "dense keys");
+        checkTrajectory(dense, 1234.5, "dense keys with a phase");
+
+        Trajectory still = new Trajectory().moveX(0, 12).moveY(0, -3);
+        checkTrajectory(still, 0, "a trajectory without a loop");
+        checkTrajectory(still, 500, "a trajectory without a loop with a phase");
+
+        Trajectory changed = Levels.sweep(0, 100, 400);
+        TrajectoryTable before = changed.compile();
+        changed.moveY(200, 30);
+        Check.that(changed.compile() != before, "a key added after compiling drops the table");
+        checkTrajectory(changed, 0, "a trajectory changed after compiling");
+
+        System.out.println("TrajectoryTableTest passed");
+    }
+
+    /**
+     * Checks the trajectory of every duck of a level with its own phase and with phases spread over the loop.
+     *
+     * @param spec The level.
+     * @param name The name of the level, for the failure message.
+     */
+    private static void checkDucks(LevelSpec spec, String name) {
+        List<Trajectory> checked = new ArrayList<>();
+        int index = 0;
+        for (DuckSpec duck : spec.getDucks()) {
+            Trajectory trajectory = duck.getTrajectory();
+            String what = name + " duck " + index++;
+            checkTrajectory(trajectory, duck.getPhaseMillis(), what);
+            if (!checked.contains(trajectory)) {
+                checked.add(trajectory);
+                double period = trajectory.getPeriod();
+                for (double phase : new double[]{0, period / 3, period / 2, period - 0.5, period, 5 * period + 17}) {
+                    checkTrajectory(trajectory, phase, what + " with phase " + phase);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks a trajectory on every key time, just before and after it, and at evenly spaced times over several loops,
+     * all offset by the specified phase the way a duck flies them.
+     *
+     * @param trajectory  The trajectory to check.
+     * @param phaseMillis The phase of the duck in milliseconds.
+     * @param what        What is checked, for the failure message.
+     */
+    private static void checkTrajectory(Trajectory trajectory, double phaseMillis, String what) {
+        TrajectoryTable table = trajectory.compile();
+        double period = trajectory.getPeriod();
+        Check.near(period, table.getPeriod(), 0, what + " period");
+        Check.that(period <= 0 || table.getSegmentCount() >= 1, what + " has segments");
+
+        List<Double> times = new ArrayList<>();
+        for (int loop = 0; loop < LOOPS; loop++) {
+            for (double key : trajectory.getKeyTimes()) {
+                // On the key and just around it, measured from the start of the flight so that the phase is undone
+                double time = loop * period + key - phaseMillis;
+                times.add(time);
+                times.add(time - 1e-6);
+                times.add(time + 1e-6);
+            }
+            for (int sample = 0; sample < SAMPLES_PER_LOOP; sample++) {
+                times.add((loop + (double) sample / SAMPLES_PER_LOOP) * Math.max(period, 1));
+            }
+        }
+        for (double time : times) {
+            if (time < 0) {
+                continue;
+            }
+            double elapsed = phaseMillis + time;
+            double loopTime = table.loopTime(elapsed);
+            Check.that(loopTime >= 0 && (loopTime < period || period <= 0), what + " loop time " + loopTime + " in the loop");
+            double expected = period > 0 ? elapsed % period : 0;
+            Check.near(expected, loopTime, 0, what + " loop time at " + elapsed);
+            int segment = table.segmentAt(loopTime);
+            String at = what + " at " + elapsed + " ms";
+            Check.near(trajectory.getX(expected), table.getX(segment, loopTime), TOLERANCE, at + " X");
+            Check.near(trajectory.getY(expected), table.getY(segment, loopTime), TOLERANCE, at + " Y");
+            Check.equal(sign(trajectory.getFacingX(expected)), table.getFacingX(segment), at + " facing X");
+            Check.equal(sign(trajectory.getFacingY(expected)), table.getFacingY(segment), at + " facing Y");
+        }
+    }
+
+    private static int sign(double facing) {
+        return facing < 0 ? -1 : 1;
+    }
+}